@@ -0,0 +1,97 @@
+package com.example.be.dto;
+
+import com.example.be.entity.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 엔티티/DTO 그래프 (DB 없이 메모리에서만 구성)
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Member member() {
+        return new Member(1, "doctor@example.com", "{bcrypt}", "의사", true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    static Patient patient(int id, Member member) {
+        return Patient.builder()
+                .patientId(id)
+                .patientCode("P-" + id)
+                .name("환자" + id)
+                .birthDate(LocalDate.of(1980, 1, 1).plusDays(id))
+                .gender(id % 2 == 0 ? "M" : "F")
+                .bloodType("A+")
+                .height(170f)
+                .weight(65f)
+                .anonymousId("anon-" + id)
+                .country("KR")
+                .lastAnalysisAt(LocalDateTime.now())
+                .member(member)
+                .build();
+    }
+
+    static DiagnosisResult diagnosisResult(int id, Patient patient, Member member, int commentCount) {
+        XrayImage xrayImage = XrayImage.builder()
+                .imageId(id)
+                .patient(patient)
+                .member(member)
+                .imageUrl("https://firebasestorage.googleapis.com/v0/b/bucket/o/xray-images%2F" + id + ".png?alt=media")
+                .fileName(id + ".png")
+                .fileSize(1_048_576)
+                .uploadedAt(LocalDateTime.now())
+                .build();
+        List<Comment> comments = new ArrayList<>();
+        DiagnosisResult result = DiagnosisResult.builder()
+                .resultId(id)
+                .xrayImage(xrayImage)
+                .comments(comments)
+                .predictedDisease("Pneumonia")
+                .probability(0.82f)
+                .gradcamImagePath("https://firebasestorage.googleapis.com/v0/b/bucket/o/gradcam%2F" + id + ".png?alt=media")
+                .top1Disease("Pneumonia")
+                .top1Probability(0.82f)
+                .top2Disease("Effusion")
+                .top2Probability(0.11f)
+                .top3Disease("Atelectasis")
+                .top3Probability(0.04f)
+                .createdAt(LocalDateTime.now())
+                .build();
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(Comment.builder()
+                    .commentId(id * 10 + i)
+                    .diagnosisResult(result)
+                    .member(member)
+                    .content("소견 " + i + ": 우하엽 경화 소견, 추적 관찰 권장")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        xrayImage.setDiagnosisResult(result);
+        return result;
+    }
+
+    // 상세 조회 응답과 같은 모양: 환자 + X-ray 목록 + 각 X-ray 의 진단 결과/소견
+    static List<PatientDto> patientDtos(int patientCount, int xraysPerPatient) {
+        Member member = member();
+        List<PatientDto> patients = new ArrayList<>(patientCount);
+        int imageId = 1;
+        for (int p = 1; p <= patientCount; p++) {
+            Patient patient = patient(p, member);
+            PatientDto dto = PatientDto.fromEntity(patient);
+            List<XrayImageDto> xrayImages = new ArrayList<>(xraysPerPatient);
+            for (int x = 0; x < xraysPerPatient; x++) {
+                DiagnosisResult result = diagnosisResult(imageId++, patient, member, 2);
+                XrayImageDto xrayDto = XrayImageDto.fromEntity(result.getXrayImage());
+                xrayDto.setDiagnosisResult(DiagnosisResultDto.fromEntity(result));
+                xrayImages.add(xrayDto);
+            }
+            dto.setXrayImages(xrayImages);
+            patients.add(dto);
+        }
+        return patients;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.be.dto;
+
+import com.example.be.entity.DiagnosisResult;
+import com.example.be.entity.Member;
+import com.example.be.entity.Patient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private Patient patient;
+    private DiagnosisResult diagnosisResult;
+
+    @Setup
+    public void setUp() {
+        Member member = BenchmarkFixtures.member();
+        patient = BenchmarkFixtures.patient(1, member);
+        diagnosisResult = BenchmarkFixtures.diagnosisResult(1, patient, member, 3);
+    }
+
+    @Benchmark
+    public PatientDto patientFromEntity() {
+        return PatientDto.fromEntity(patient);
+    }
+
+    @Benchmark
+    public DiagnosisResultDto diagnosisResultFromEntity() {
+        return DiagnosisResultDto.fromEntity(diagnosisResult);
+    }
+}
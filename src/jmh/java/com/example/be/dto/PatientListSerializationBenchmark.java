@@ -0,0 +1,36 @@
+package com.example.be.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 환자 목록(상세 포함) JSON 직렬화
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PatientListSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int patientCount;
+
+    private ObjectMapper objectMapper;
+    private List<PatientDto> patients;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot 기본 설정과 동일하게 날짜는 ISO 문자열로 직렬화
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        patients = BenchmarkFixtures.patientDtos(patientCount, 3);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(patients);
+    }
+}
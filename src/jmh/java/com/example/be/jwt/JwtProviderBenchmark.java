@@ -0,0 +1,42 @@
+package com.example.be.jwt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 같은 토큰 반복 검증: verified-cache 적중 vs 매번 HMAC 검증(캐시 크기 0)
+// 키 1회 파생 + verified-cache 도입 전후 수치는 아직 측정하지 않았다 (미해결).
+// 변경 전 커밋과 현재 커밋에서 각각 ./gradlew jmh -Pjmh.includes=JwtProvider 를 실행해 비교할 것.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtProvider cachedProvider;
+    private JwtProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = new JwtProvider(SECRET, 900, 2048, 300);
+        uncachedProvider = new JwtProvider(SECRET, 900, 0, 300);
+        token = cachedProvider.create(1, "doctor@example.com");
+    }
+
+    @Benchmark
+    public AuthenticatedMember authenticateCached() {
+        return cachedProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public AuthenticatedMember authenticateUncached() {
+        return uncachedProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public String create() {
+        return cachedProvider.create(1, "doctor@example.com");
+    }
+}
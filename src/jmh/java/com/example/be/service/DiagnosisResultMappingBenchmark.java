@@ -0,0 +1,48 @@
+package com.example.be.service;
+
+import com.example.be.dto.response.AiResponseDto;
+import com.example.be.entity.DiagnosisResult;
+import com.example.be.entity.XrayImage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// AI 응답 → 진단 결과 변환 (top3 추출, gs:// → Firebase https URL 변환)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiagnosisResultMappingBenchmark {
+
+    private static final String GS_PATH = "gs://eyes-of-breath.appspot.com/gradcam/2024/10/환자_0001_gradcam.png";
+
+    private XrayImage xrayImage;
+    private AiResponseDto aiResponse;
+
+    @Setup
+    public void setUp() {
+        xrayImage = XrayImage.builder().imageId(1).imageUrl("https://example.com/xray.png").build();
+        aiResponse = new AiResponseDto();
+        aiResponse.setPredictedDisease("Pneumonia");
+        aiResponse.setProbability(0.52f);
+        aiResponse.setGradcamImagePath(GS_PATH);
+        aiResponse.setTop3(List.of(topItem("Pneumonia", 0.52f), topItem("Effusion", 0.21f), topItem("Atelectasis", 0.08f)));
+    }
+
+    @Benchmark
+    public DiagnosisResult toDiagnosisResult() {
+        return DiagnosisService.toDiagnosisResult(xrayImage, aiResponse);
+    }
+
+    @Benchmark
+    public String gsToFirebaseHttps() {
+        return DiagnosisService.gsToFirebaseHttps(GS_PATH);
+    }
+
+    private static AiResponseDto.TopItem topItem(String label, float probability) {
+        AiResponseDto.TopItem item = new AiResponseDto.TopItem();
+        item.setLabel(label);
+        item.setProbability(probability);
+        return item;
+    }
+}
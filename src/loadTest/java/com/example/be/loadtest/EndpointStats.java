@@ -0,0 +1,60 @@
+package com.example.be.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 엔드포인트별 응답 시간(마이크로초)과 오류 수 집계
+class EndpointStats {
+
+    private final String name;
+    private final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    // 동시에 처리 중인 요청 수 (최대값 = 서버가 실제로 받아낸 동시 처리량)
+    void started() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    void record(long latencyNanos, boolean success) {
+        inFlight.decrementAndGet();
+        latenciesMicros.add(latencyNanos / 1_000);
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    Map<String, Object> summary(double durationSeconds) {
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", sorted.length);
+        summary.put("errors", errors.get());
+        summary.put("errorRate", sorted.length == 0 ? 0.0 : (double) errors.get() / sorted.length);
+        summary.put("throughputRps", sorted.length / durationSeconds);
+        summary.put("p50Millis", percentileMillis(sorted, 0.50));
+        summary.put("p95Millis", percentileMillis(sorted, 0.95));
+        summary.put("p99Millis", percentileMillis(sorted, 0.99));
+        summary.put("peakInFlight", peakInFlight.get());
+        summary.put("maxMillis", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000.0);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000.0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.be.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * GPU 모델 서버 대역. fake-model-responses.json 의 AiResponseDto 페이로드를 돌아가며 재생하고,
+ * 지정한 분포만큼 지연 후 응답한다. 지연 중 스레드를 점유하지 않도록 가상 스레드에서 처리한다.
+ */
+class FakeModelServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final LatencyDistribution latency;
+    private final List<JsonNode> payloads;
+
+    FakeModelServer(LatencyDistribution latency) throws IOException {
+        this.latency = latency;
+        try (InputStream in = FakeModelServer.class.getResourceAsStream("/fake-model-responses.json")) {
+            this.payloads = List.copyOf(objectMapper.readValue(in, objectMapper.getTypeFactory()
+                    .constructCollectionType(List.class, JsonNode.class)));
+        }
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/predict/batch", this::handleBatch);
+        server.createContext("/predict", this::handleSingle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String predictUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/predict";
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        delay();
+        respond(exchange, objectMapper.writeValueAsBytes(nextPayload()));
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        delay();
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode results = body.putArray("results");
+        request.get("imageUrls").forEach(url -> results.add(nextPayload()));
+        respond(exchange, objectMapper.writeValueAsBytes(body));
+    }
+
+    private JsonNode nextPayload() {
+        return payloads.get(ThreadLocalRandom.current().nextInt(payloads.size()));
+    }
+
+    private void delay() {
+        try {
+            Thread.sleep(Math.max(0, latency.nextMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
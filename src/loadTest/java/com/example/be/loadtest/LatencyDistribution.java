@@ -0,0 +1,39 @@
+package com.example.be.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가짜 모델 서버 응답 지연 분포 (밀리초).
+ * 형식: fixed:300 | uniform:100-600 | lognormal:300,0.5 (중앙값, sigma)
+ */
+interface LatencyDistribution {
+
+    long nextMillis();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        String type = parts[0].toLowerCase();
+        String args = parts.length > 1 ? parts[1] : "";
+        switch (type) {
+            case "fixed": {
+                long millis = Long.parseLong(args);
+                return () -> millis;
+            }
+            case "uniform": {
+                String[] range = args.split("-");
+                long min = Long.parseLong(range[0]);
+                long max = Long.parseLong(range[1]);
+                return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+            }
+            case "lognormal": {
+                String[] params = args.split(",");
+                double median = Double.parseDouble(params[0]);
+                double sigma = params.length > 1 ? Double.parseDouble(params[1]) : 0.5;
+                double mu = Math.log(median);
+                return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            default:
+                throw new IllegalArgumentException("알 수 없는 지연 분포: " + spec);
+        }
+    }
+}
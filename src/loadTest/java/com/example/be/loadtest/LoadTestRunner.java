@@ -0,0 +1,290 @@
+package com.example.be.loadtest;
+
+import com.example.be.BeApplication;
+import com.example.be.entity.Member;
+import com.example.be.repository.MemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 진단/환자 목록/로그인 API 부하 테스트.
+ * 앱을 내장 H2, 가짜 모델 서버, 로컬 blob 저장소로 띄운 뒤 목표 RPS 로 요청을 보내고(open-loop)
+ * 엔드포인트별 p50/p95/p99 와 오류율을 출력, build/reports/loadtest 에 JSON 으로 저장한다.
+ *
+ * 설정 (-P 로 넘기면 build.gradle 에서 시스템 프로퍼티로 전달):
+ *   loadtest.rps               목표 초당 요청 수 (기본 20)
+ *   loadtest.duration-seconds  측정 시간 (기본 60)
+ *   loadtest.warmup-seconds    측정 전 워밍업 (기본 10)
+ *   loadtest.mix               엔드포인트 비율 (기본 diagnosis=2,patients=6,sign-in=2)
+ *   loadtest.model-latency     모델 서버 지연 분포 (기본 lognormal:300,0.5)
+ *   loadtest.image-kb          업로드 이미지 크기 (기본 256)
+ *   loadtest.virtual-threads   가상 스레드 모드로 앱 실행 (spring.threads.virtual.enabled, 기본 false)
+ *   loadtest.report-dir        결과 저장 위치 (기본 build/reports/loadtest)
+ */
+public class LoadTestRunner {
+
+    private static final String EMAIL = "loadtest@example.com";
+    private static final String PASSWORD = "loadtest-password-1!";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int imageBytes = Integer.getInteger("loadtest.image-kb", 256) * 1024;
+    private String baseUrl;
+    private String accessToken;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+    }
+
+    private void run() throws Exception {
+        int rps = Integer.getInteger("loadtest.rps", 20);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "diagnosis=2,patients=6,sign-in=2"));
+        LatencyDistribution modelLatency = LatencyDistribution.parse(
+                System.getProperty("loadtest.model-latency", "lognormal:300,0.5"));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+        Path blobRoot = Files.createTempDirectory("loadtest-blobs-");
+
+        try (FakeModelServer modelServer = new FakeModelServer(modelLatency);
+             ConfigurableApplicationContext app = startApplication(modelServer, blobRoot)) {
+            baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            seedMember(app);
+            accessToken = signIn();
+
+            Map<String, Supplier<HttpRequest>> requests = new LinkedHashMap<>();
+            requests.put("diagnosis", this::newPatientDiagnosisRequest);
+            requests.put("patients", this::patientListRequest);
+            requests.put("sign-in", this::signInRequest);
+            List<String> schedule = weightedSchedule(mix, requests.keySet());
+
+            System.out.printf("[LoadTest] 워밍업 %ds, 측정 %ds @ %d rps, mix=%s%n", warmupSeconds, durationSeconds, rps, mix);
+            drive(requests, schedule, rps, warmupSeconds, null);
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            requests.keySet().forEach(name -> stats.put(name, new EndpointStats(name)));
+            drive(requests, schedule, rps, durationSeconds, stats);
+
+            report(stats, rps, durationSeconds, mix, System.getProperty("loadtest.model-latency", "lognormal:300,0.5"), reportDir);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(FakeModelServer modelServer, Path blobRoot) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jwt.secret", "loadtest-jwt-secret-loadtest-jwt-secret-0123456789");
+        // 액세스 토큰은 시작할 때 한 번만 발급하므로 측정 시간보다 길게 (기본 900초면 15분 넘는 실행이 401 로 끝남)
+        properties.put("jwt.access-token.ttl-seconds", 86400);
+        properties.put("ai.model-server.url", modelServer.predictUrl());
+        properties.put("storage.type", "local");
+        properties.put("storage.local.root-dir", blobRoot.toString());
+        properties.put("spring.servlet.multipart.max-file-size", "20MB");
+        properties.put("spring.servlet.multipart.max-request-size", "20MB");
+        // 메일은 부하 대상이 아니므로 연결되지 않는 더미 설정
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.port", 2525);
+        properties.put("spring.mail.username", "loadtest");
+        properties.put("spring.mail.password", "loadtest");
+        properties.put("spring.mail.properties.mail.smtp.auth", false);
+        properties.put("spring.mail.properties.mail.smtp.starttls.enable", false);
+        properties.put("spring.mail.properties.mail.smtp.starttls.required", false);
+        properties.put("spring.mail.properties.mail.smtp.connectiontimeout", 1000);
+        properties.put("spring.mail.properties.mail.smtp.timeout", 1000);
+        properties.put("spring.mail.properties.mail.smtp.writetimeout", 1000);
+        properties.put("spring.threads.virtual.enabled", Boolean.getBoolean("loadtest.virtual-threads"));
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.be.loadtest", "INFO");
+
+        return new SpringApplicationBuilder(BeApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(properties)
+                .run();
+    }
+
+    private void seedMember(ConfigurableApplicationContext app) {
+        MemberRepository memberRepository = app.getBean(MemberRepository.class);
+        PasswordEncoder passwordEncoder = app.getBean(PasswordEncoder.class);
+        memberRepository.save(new Member(null, EMAIL, passwordEncoder.encode(PASSWORD), "loadtest", true, null, null));
+    }
+
+    private String signIn() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(signInRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("부하 테스트 계정 로그인 실패: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    // open-loop: 응답을 기다리지 않고 목표 간격마다 요청을 보낸다 (느린 응답이 부하를 줄이지 않도록)
+    private void drive(Map<String, Supplier<HttpRequest>> requests, List<String> schedule, int rps,
+                       int seconds, Map<String, EndpointStats> stats) throws InterruptedException {
+        long total = (long) rps * seconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long sendAt = start + i * intervalNanos;
+            long wait = sendAt - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            String endpoint = schedule.get((int) (i % schedule.size()));
+            HttpRequest request = requests.get(endpoint).get();
+            if (stats != null) {
+                stats.get(endpoint).started();
+            }
+            inFlight.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (stats != null) {
+                            // 예정 시각 기준으로 측정 (coordinated omission 방지)
+                            boolean success = error == null && response.statusCode() < 400;
+                            stats.get(endpoint).record(System.nanoTime() - sendAt, success);
+                        }
+                    }));
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        } catch (ExecutionException | TimeoutException e) {
+            // 개별 실패는 이미 오류로 집계됨
+        }
+    }
+
+    private HttpRequest newPatientDiagnosisRequest() {
+        long n = sequence.incrementAndGet();
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(imageBytes + 1024);
+        writeField(body, boundary, "name", "부하환자" + n);
+        writeField(body, boundary, "birthDate", "1985-03-0" + (n % 9 + 1));
+        writeField(body, boundary, "gender", n % 2 == 0 ? "M" : "F");
+        writeField(body, boundary, "patientCode", "LT-" + n + "-" + System.nanoTime());
+        writeFile(body, boundary, "file", "xray-" + n + ".png", randomImage());
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/diagnosis/start/new-patient"))
+                .timeout(Duration.ofMinutes(3))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest patientListRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/patients?size=20&fields=summary"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest signInRequest() {
+        String json = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/sign-in"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // 매 요청마다 내용이 달라야 중복 X-ray 재사용 경로를 타지 않는다
+    private byte[] randomImage() {
+        byte[] image = new byte[imageBytes];
+        ThreadLocalRandom.current().nextBytes(image);
+        return image;
+    }
+
+    private static void writeField(ByteArrayOutputStream body, String boundary, String name, String value) {
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeFile(ByteArrayOutputStream body, String boundary, String name, String fileName, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    // 비율대로 섞은 요청 순서 (예: 2:6:2 → 10개 슬롯을 고르게 섞음)
+    private static List<String> weightedSchedule(Map<String, Integer> mix, Set<String> known) {
+        List<String> schedule = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            if (!known.contains(endpoint)) {
+                throw new IllegalArgumentException("알 수 없는 엔드포인트: " + endpoint + " (가능: " + known + ")");
+            }
+            for (int i = 0; i < weight; i++) {
+                schedule.add(endpoint);
+            }
+        });
+        Collections.shuffle(schedule, new Random(42));
+        return schedule;
+    }
+
+    private void report(Map<String, EndpointStats> stats, int rps, int durationSeconds, Map<String, Integer> mix,
+                        String modelLatency, Path reportDir) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        System.out.printf("%n%-12s %9s %8s %9s %10s %10s %10s %9s%n",
+                "endpoint", "requests", "errors", "rps", "p50(ms)", "p95(ms)", "p99(ms)", "peak");
+        for (EndpointStats endpointStats : stats.values()) {
+            Map<String, Object> summary = endpointStats.summary(durationSeconds);
+            endpoints.add(summary);
+            System.out.printf("%-12s %9d %8d %9.1f %10.1f %10.1f %10.1f %9d%n",
+                    summary.get("endpoint"), summary.get("requests"), summary.get("errors"), summary.get("throughputRps"),
+                    summary.get("p50Millis"), summary.get("p95Millis"), summary.get("p99Millis"), summary.get("peakInFlight"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", LocalDateTime.now().toString());
+        result.put("targetRps", rps);
+        result.put("durationSeconds", durationSeconds);
+        result.put("mix", mix);
+        result.put("modelLatency", modelLatency);
+        result.put("javaVersion", System.getProperty("java.version"));
+        result.put("virtualThreads", Boolean.getBoolean("loadtest.virtual-threads"));
+        result.put("endpoints", endpoints);
+
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve("loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+        System.out.println("[LoadTest] 결과 저장: " + file.toAbsolutePath());
+    }
+}
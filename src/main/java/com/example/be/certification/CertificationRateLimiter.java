@@ -0,0 +1,75 @@
+package com.example.be.certification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인증 메일 발급 횟수 제한 (고정 윈도우).
+ * window-seconds 동안 이메일당 per-email 회, 클라이언트 IP당 per-ip 회까지만 발급해
+ * 메일 폭탄 요청이 SMTP / outbox 를 채우지 못하도록 한다. 카운터는 인스턴스별로 관리한다.
+ */
+@Component
+public class CertificationRateLimiter {
+
+    private final Cache<String, AtomicInteger> emailWindows;
+    private final Cache<String, AtomicInteger> ipWindows;
+    private final int perEmail;
+    private final int perIp;
+    private final long windowSeconds;
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    public CertificationRateLimiter(MeterRegistry meterRegistry,
+                                    @Value("${certification.rate.per-email:5}") int perEmail,
+                                    @Value("${certification.rate.per-ip:20}") int perIp,
+                                    @Value("${certification.rate.window-seconds:3600}") long windowSeconds,
+                                    @Value("${certification.rate.max-keys:100000}") long maxKeys) {
+        this.perEmail = perEmail;
+        this.perIp = perIp;
+        this.windowSeconds = windowSeconds;
+        // 윈도우는 첫 요청 시각부터 window-seconds (이후 증가는 write 로 치지 않음)
+        this.emailWindows = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxKeys)
+                .build();
+        this.ipWindows = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxKeys)
+                .build();
+        this.emailRejections = rejectionCounter(meterRegistry, "email");
+        this.ipRejections = rejectionCounter(meterRegistry, "ip");
+    }
+
+    // 허용되면 두 카운터를 모두 1 증가시키고 true
+    public boolean tryAcquire(String email, String clientIp) {
+        if (clientIp != null && ipWindows.get(clientIp, key -> new AtomicInteger()).incrementAndGet() > perIp) {
+            ipRejections.increment();
+            return false;
+        }
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        if (emailWindows.get(emailKey, key -> new AtomicInteger()).incrementAndGet() > perEmail) {
+            emailRejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public long windowSeconds() {
+        return windowSeconds;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("certification.rate-limited")
+                .description("발급 횟수 제한으로 거절된 인증 메일 요청")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.be.certification;
+
+import java.util.Optional;
+
+/**
+ * 이메일 인증번호 저장소 SPI.
+ * certification.store 설정(memory | database)에 따라 구현체가 하나만 등록된다.
+ * 저장된 인증번호는 certification.ttl-seconds 가 지나면 조회되지 않는다.
+ */
+public interface CertificationStore {
+
+    // 같은 이메일로 다시 발급하면 이전 인증번호를 덮어쓴다
+    void save(String email, String certificationNumber);
+
+    Optional<String> find(String email);
+
+    void remove(String email);
+}
@@ -0,0 +1,59 @@
+package com.example.be.certification;
+
+import com.example.be.entity.Certification;
+import com.example.be.repository.CertificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 공유 인증번호 저장소 (여러 인스턴스 배포용, certification.store=database).
+ * 기존 certification 테이블에 만료 시각을 함께 저장하고, 만료된 행은 조회에서 제외한 뒤 주기적으로 삭제한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "certification.store", havingValue = "database")
+public class DatabaseCertificationStore implements CertificationStore {
+
+    private final CertificationRepository certificationRepository;
+    private final long ttlSeconds;
+
+    public DatabaseCertificationStore(CertificationRepository certificationRepository,
+                                      @Value("${certification.ttl-seconds:600}") long ttlSeconds) {
+        this.certificationRepository = certificationRepository;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public void save(String email, String certificationNumber) {
+        certificationRepository.save(
+                new Certification(email, certificationNumber, LocalDateTime.now().plusSeconds(ttlSeconds)));
+    }
+
+    @Override
+    public Optional<String> find(String email) {
+        return certificationRepository.findByEmail(email)
+                .filter(certification -> certification.getExpiresAt() != null
+                        && certification.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(Certification::getCertificationNumber);
+    }
+
+    @Override
+    public void remove(String email) {
+        certificationRepository.deleteByEmail(email);
+    }
+
+    // 만료 시각이 없는 행은 만료 컬럼 추가 이전에 쌓인 것이므로 함께 정리
+    @Scheduled(fixedDelayString = "${certification.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int deleted = certificationRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("[Certification] 만료된 인증번호 {}건 삭제", deleted);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.be.certification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인메모리 인증번호 저장소 (기본값, 단일 인스턴스 또는 sticky session 배포용).
+ * 발급 후 ttl-seconds 가 지나면 만료되고 max-size 를 넘으면 오래된 항목부터 밀려나므로 메모리가 무한히 늘지 않는다.
+ * 여러 인스턴스가 요청을 나눠 받는 배포에서는 certification.store=database 를 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "certification.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCertificationStore implements CertificationStore {
+
+    private final Cache<String, String> codes;
+
+    public InMemoryCertificationStore(MeterRegistry meterRegistry,
+                                      @Value("${certification.ttl-seconds:600}") long ttlSeconds,
+                                      @Value("${certification.max-size:100000}") long maxSize) {
+        this.codes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, codes, "certification");
+    }
+
+    @Override
+    public void save(String email, String certificationNumber) {
+        codes.put(email, certificationNumber);
+    }
+
+    @Override
+    public Optional<String> find(String email) {
+        return Optional.ofNullable(codes.getIfPresent(email));
+    }
+
+    @Override
+    public void remove(String email) {
+        codes.invalidate(email);
+    }
+}
@@ -10,7 +10,9 @@ public interface ResponseCode {
     String CERTIFICATION_FAIL = "CF";
 
     String MAIL_FAIL = "MF";
+    String TOO_MANY_REQUESTS = "TMR";
     String DATABASE_ERROR = "DBE";
+    String SERVER_BUSY = "SB";
 
     String AUTHORIZATION_FAIL = "AF";
     String PASSWORD_MISMATCH = "PM";
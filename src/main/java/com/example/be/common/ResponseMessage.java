@@ -10,7 +10,9 @@ public interface ResponseMessage {
     String CERTIFICATION_FAIL = "Certification failed.";
 
     String MAIL_FAIL = "Mail send failed.";
+    String TOO_MANY_REQUESTS = "Too many requests.";
     String DATABASE_ERROR = "Database error.";
+    String SERVER_BUSY = "Server busy.";
 
     String AUTHORIZATION_FAIL = "Authorization Failed.";
     String PASSWORD_MISMATCH = "Password mismatch.";
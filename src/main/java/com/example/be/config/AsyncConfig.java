@@ -0,0 +1,130 @@
+package com.example.be.config;
+
+import com.example.be.mail.SmtpTransportPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리, @Scheduled, @Async 기본 실행기와 함께
+// 진단 워커와 뉴스 기사 수집도 가상 스레드로 동작한다.
+@Configuration
+public class AsyncConfig {
+
+    // BCrypt 해시/검증 전용 풀. 기본값은 코어 절반 (나머지는 일반 요청 처리용), 대기열이 차면 TaskRejectedException 발생
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:32}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    // 재해시 결과 저장 전용 (JDBC 쓰기가 해시 실행기 스레드를 점유하지 않도록). 가득 차면 이번 재해시는 버림
+    @Bean(name = "passwordRehashWriter")
+    public ThreadPoolTaskExecutor passwordRehashWriter() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("password-rehash-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    // outbox drain 전용 단일 스레드 (EmailOutboxDispatcher 가 대기 중인 drain 을 하나로 합친다)
+    @Bean(name = "mailOutboxDispatchExecutor")
+    public ThreadPoolTaskExecutor mailOutboxDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("mail-outbox-");
+        return executor;
+    }
+
+    // SMTP 발송 풀. 연결 풀 크기보다 많은 스레드는 연결을 기다리기만 하므로 같은 크기로 맞춘다.
+    @Bean(name = "mailSendExecutor")
+    public ThreadPoolTaskExecutor mailSendExecutor(SmtpTransportPool transportPool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(transportPool.maxSize());
+        executor.setMaxPoolSize(transportPool.maxSize());
+        executor.setThreadNamePrefix("mail-sender-");
+        return executor;
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.PLATFORM)
+    static class PlatformDiagnosisExecutorConfig {
+
+        // 진단 작업 전용 워커 풀 (큐가 가득 차면 TaskRejectedException 발생)
+        @Bean(name = "diagnosisExecutor")
+        public ThreadPoolTaskExecutor diagnosisExecutor(
+                @Value("${diagnosis.worker.pool-size:4}") int poolSize,
+                @Value("${diagnosis.worker.queue-capacity:100}") int queueCapacity
+        ) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("diagnosis-");
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(130); // AI 서버 read timeout(120s) 여유
+            return executor;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualDiagnosisExecutorConfig {
+
+        // 작업마다 가상 스레드를 만들고 동시 실행 수만 제한 (한도 초과 시 TaskRejectedException 발생, 제출 스레드는 대기하지 않음)
+        // 업로드 등 블로킹 I/O 중에는 캐리어 스레드를 반납하므로 플랫폼 풀보다 훨씬 많은 작업을 동시에 진행할 수 있다.
+        @Bean(name = "diagnosisExecutor")
+        public BoundedVirtualThreadExecutor diagnosisExecutor(
+                @Value("${diagnosis.worker.virtual-concurrency-limit:200}") int concurrencyLimit
+        ) {
+            return new BoundedVirtualThreadExecutor("diagnosis-vt-", concurrencyLimit,
+                    130_000); // AI 서버 read timeout(120s) 여유
+        }
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.PLATFORM)
+    static class PlatformNewsFetchExecutorConfig {
+
+        // 뉴스 기사 요약 수집 풀 (호스트별 동시 요청 수는 KormediCrawler 의 per-host-concurrency 가 따로 제한)
+        @Bean(name = "newsFetchExecutor")
+        public ThreadPoolTaskExecutor newsFetchExecutor(
+                @Value("${news.crawler.max-parallel:8}") int maxParallel
+        ) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(maxParallel);
+            executor.setMaxPoolSize(maxParallel);
+            executor.setThreadNamePrefix("news-crawler-");
+            return executor;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualNewsFetchExecutorConfig {
+
+        // 기사마다 가상 스레드 하나. 동시 요청 수는 호스트별 세마포어가 제한하므로 실행기에는 한도를 두지 않는다.
+        @Bean(name = "newsFetchExecutor")
+        public SimpleAsyncTaskExecutor newsFetchExecutor() {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("news-crawler-vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.be.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업마다 가상 스레드를 만들되 동시 실행 수를 concurrencyLimit 으로 제한하는 실행기.
+ * 한도에 도달하면 제출한 스레드를 세우지 않고 바로 TaskRejectedException 을 던진다.
+ * (SimpleAsyncTaskExecutor.setConcurrencyLimit 은 제출 스레드를 대기시키므로 HTTP 클라이언트 I/O 스레드나
+ *  이미 한도를 점유한 워커에서 제출하면 멈추거나 서로를 기다리게 된다.)
+ */
+@Slf4j
+public class BoundedVirtualThreadExecutor implements TaskExecutor, DisposableBean {
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final long terminationTimeoutMillis;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrencyLimit, long terminationTimeoutMillis) {
+        this.permits = new Semaphore(concurrencyLimit);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.terminationTimeoutMillis = terminationTimeoutMillis;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("동시 실행 한도에 도달해 작업을 거절했습니다.");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new TaskRejectedException("실행기가 종료되어 작업을 거절했습니다.", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(terminationTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("[BoundedVirtualThreadExecutor] 종료 대기 시간 초과, 남은 작업 중단");
+            executor.shutdownNow();
+        }
+    }
+}
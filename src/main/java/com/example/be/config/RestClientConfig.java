@@ -1,19 +1,57 @@
 package com.example.be.config;
 
-import java.time.Duration;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestClientConfig {
 
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder b) {
-        return b
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(120)) // Grad-CAM 생성 여유
+    // AI 모델 서버 호출용 비동기 클라이언트: 커넥션 풀 + keep-alive, 응답 대기 중 스레드를 점유하지 않음
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient aiHttpClient(
+            @Value("${ai.http.max-total:50}") int maxTotal,
+            @Value("${ai.http.max-per-route:20}") int maxPerRoute,
+            @Value("${ai.http.connect-timeout-ms:5000}") long connectTimeoutMillis,
+            @Value("${ai.http.response-timeout-ms:120000}") long responseTimeoutMillis, // Grad-CAM 생성 여유
+            @Value("${ai.http.pool-timeout-ms:5000}") long poolTimeoutMillis,
+            @Value("${ai.http.keep-alive-seconds:30}") long keepAliveSeconds,
+            @Value("${ai.http.version-policy:NEGOTIATE}") HttpVersionPolicy versionPolicy) {
+
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                // NEGOTIATE: TLS(ALPN)면 HTTP/2, 아니면 HTTP/1.1 / FORCE_HTTP_2: h2c 지원 서버용
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(versionPolicy)
+                        .build())
+                .build();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
                 .build();
+        client.start();
+        return client;
     }
-}
\ No newline at end of file
+}
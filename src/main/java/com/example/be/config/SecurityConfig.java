@@ -1,7 +1,10 @@
 package com.example.be.config;
 
 import com.example.be.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -30,8 +34,11 @@ public class SecurityConfig {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll() // SSE 등 비동기 응답 재디스패치 (최초 요청에서 이미 인증됨)
                         .requestMatchers("/api/v1/auth/**", "/email/**").permitAll() // 인증 API는 모두 접근 허용
                         .requestMatchers(HttpMethod.GET, "/api/v1/news").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll() // 로컬 저장소 이미지 (<img> 태그에서 직접 요청)
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll() // 헬스체크, Prometheus 수집
                         .anyRequest().authenticated() // 나머지 요청은 인증 필요
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -39,8 +46,40 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 14;
+
+    /**
+     * strength 를 지정하지 않으면(0) 기동 시 이 서버에서 해시 1회가 target-ms 이내인 가장 높은 cost 를 고른다 (최소 10).
+     * 여러 대를 운영할 때는 서버마다 값이 달라지지 않도록 password.bcrypt.strength 를 고정하는 것을 권장.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:0}") int strength,
+                                           @Value("${password.bcrypt.target-ms:250}") long targetMillis) {
+        int cost = strength > 0 ? strength : calibrateBcryptStrength(targetMillis);
+        log.info("[SecurityConfig] BCrypt cost = {}{}", cost, strength > 0 ? " (설정값)" : " (보정값, 목표 " + targetMillis + "ms)");
+        return new BCryptPasswordEncoder(cost);
+    }
+
+    private static int calibrateBcryptStrength(long targetMillis) {
+        String sample = "calibration-sample";
+        // JIT 워밍업
+        new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH - 2).encode(sample);
+
+        int chosen = MIN_BCRYPT_STRENGTH;
+        for (int cost = MIN_BCRYPT_STRENGTH; cost <= MAX_BCRYPT_STRENGTH; cost++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode(sample);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            chosen = cost;
+            // cost +1 마다 시간이 두 배이므로 다음 단계가 목표를 넘을 게 확실하면 측정하지 않음
+            if (elapsedMillis * 2 > targetMillis) {
+                break;
+            }
+        }
+        return chosen;
     }
 }
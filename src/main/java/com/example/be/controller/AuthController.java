@@ -3,6 +3,7 @@ package com.example.be.controller;
 import com.example.be.dto.request.*;
 import com.example.be.dto.response.*;
 import com.example.be.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -32,9 +33,11 @@ public class AuthController {
 
     @PostMapping("/send-certification-email")
     public ResponseEntity<? super EmailCertificationResponseDto> sendCertificationEmail(
-            @RequestBody @Valid EmailCertificationRequestDto requestBody
+            @RequestBody @Valid EmailCertificationRequestDto requestBody,
+            HttpServletRequest request
     ) {
-        return authService.emailCertification(requestBody);
+        // 프록시 뒤에서는 server.forward-headers-strategy 설정으로 원래 클라이언트 주소가 들어온다
+        return authService.emailCertification(requestBody, request.getRemoteAddr());
     }
 
     @PostMapping("/check-certification-number")
@@ -53,8 +56,16 @@ public class AuthController {
 
     @PostMapping("/sign-in")
     public ResponseEntity<? super SignInResponseDto> signIn(
-            @RequestBody @Valid SignInRequestDto requestBody
+            @RequestBody @Valid SignInRequestDto requestBody,
+            HttpServletRequest request
     ) {
-        return authService.signIn(requestBody);
+        return authService.signIn(requestBody, request.getRemoteAddr());
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<? super RefreshTokenResponseDto> refresh(
+            @RequestBody @Valid RefreshTokenRequestDto requestBody
+    ) {
+        return authService.refresh(requestBody);
     }
 }
\ No newline at end of file
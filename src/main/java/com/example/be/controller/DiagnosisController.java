@@ -1,21 +1,28 @@
 package com.example.be.controller;
 
 import com.example.be.dto.CommentDto;
+import com.example.be.dto.DiagnosisJobDto;
 import com.example.be.dto.DiagnosisResultDto;
 import com.example.be.dto.PatientDto;
 import com.example.be.entity.Comment;
 import com.example.be.entity.DiagnosisResult;
+import com.example.be.service.DiagnosisJobService;
 import com.example.be.service.DiagnosisService;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -25,6 +32,7 @@ import java.util.Map;
 public class DiagnosisController {
 
     private final DiagnosisService diagnosisService;
+    private final DiagnosisJobService diagnosisJobService;
 
     // 신규 환자 등록, X-ray 업로드, AI 분석을 한 번에 처리하는 통합 API
     // 신규 환자 진단 시작 API
@@ -66,6 +74,65 @@ public class DiagnosisController {
         return ResponseEntity.ok(result);
     }
 
+    // 신규 환자 진단 작업 등록 API (mode=job: 저장 후 즉시 202 반환, 업로드/AI 분석은 백그라운드 처리)
+    @PostMapping(value = "/start/new-patient", consumes = "multipart/form-data", params = "mode=job")
+    public ResponseEntity<DiagnosisJobDto> submitNewPatientDiagnosisJob(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam("name") String name,
+            @RequestParam("birthDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate birthDate,
+            @RequestParam("gender") @Pattern(regexp = "^[MF]$") String gender,
+            @RequestParam(required = false) String patientCode,
+            @RequestParam(required = false) String bloodType,
+            @RequestParam(required = false) Float height,
+            @RequestParam(required = false) Float weight,
+            @RequestParam(required = false) String country
+    ) throws IOException {
+        PatientDto patientInfo = PatientDto.builder()
+                .patientCode(patientCode)
+                .name(name)
+                .birthDate(birthDate)
+                .gender(gender)
+                .bloodType(bloodType)
+                .height(height)
+                .weight(weight)
+                .country(country)
+                .build();
+        DiagnosisJobDto job = diagnosisJobService.submitForNewPatient(patientInfo, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    // 기존 환자 진단 작업 등록 API (mode=job)
+    @PostMapping(value = "/start/existing-patient", consumes = "multipart/form-data", params = "mode=job")
+    public ResponseEntity<DiagnosisJobDto> submitExistingPatientDiagnosisJob(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam("patientId") Integer patientId
+    ) throws IOException {
+        DiagnosisJobDto job = diagnosisJobService.submitForExistingPatient(patientId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    // 기존 환자 다중 이미지 진단 API (이미지별 결과를 끝나는 순서대로 NDJSON 으로 스트리밍, 부분 성공 허용)
+    @PostMapping(value = "/start/existing-patient/bulk", consumes = "multipart/form-data")
+    public ResponseEntity<ResponseBodyEmitter> startExistingPatientBulkDiagnosis(
+            @RequestPart("files") List<MultipartFile> files,
+            @RequestParam("patientId") Integer patientId
+    ) throws IOException {
+        ResponseBodyEmitter emitter = diagnosisJobService.submitBulkForExistingPatient(patientId, files);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    // 진단 작업 상태 스트림 API (SSE: uploaded → inferring → completed/failed)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDiagnosisJobs() {
+        return diagnosisJobService.openStream();
+    }
+
+    // 진단 작업 상태 조회 API
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<DiagnosisJobDto> getDiagnosisJob(@PathVariable Integer jobId) {
+        return ResponseEntity.ok(diagnosisJobService.getJob(jobId));
+    }
+
     //AI 진단 결과 조회
     @GetMapping("/{resultId}")
     public ResponseEntity<DiagnosisResultDto> getDiagnosisResult(@PathVariable Integer resultId) {
@@ -1,6 +1,7 @@
 package com.example.be.controller;
 
 import com.example.be.dto.PatientDto;
+import com.example.be.dto.PatientPageDto;
 import com.example.be.service.PatientService;
 import jakarta.validation.Valid; // Valid import 추가
 import jakarta.validation.constraints.Pattern; // Pattern import 추가
@@ -13,7 +14,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -61,16 +61,24 @@ public class PatientController {
 //        return ResponseEntity.ok(createdPatient);
 //    }
 
-    // 2. 환자 동적 검색 API
+    // 2. 환자 검색 API (로그인 사용자의 환자 대상)
+    //    q: 이름 / 환자 코드 / 익명 ID / 국가 부분 일치, 한글은 초성("ㄱㅁㅅ")·입력 중인 음절("김ㅁ")도 일치
+    //    gender / birthDate / country 는 선택 필터, cursor 로 다음 페이지 조회
     @GetMapping("/search")
-    public ResponseEntity<List<PatientDto>> searchPatients(
-            // 이름, 생년월일, 성별 필수값으로
-            @RequestParam String name,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate birthDate,
-            @RequestParam String gender
+    public ResponseEntity<PatientPageDto> searchPatients(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String name, // 이전 클라이언트 호환 (q 가 없을 때 사용)
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate birthDate,
+            @RequestParam(required = false) @Pattern(regexp = "^[MF]$", message = "성별은 'M' 또는 'F' 값만 가능합니다.") String gender,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "full") @Pattern(regexp = "^(full|summary)$") String fields
     ) {
-        List<PatientDto> patients = patientService.searchPatients(name, birthDate, gender);
-        return ResponseEntity.ok(patients);
+        String query = (q != null && !q.isBlank()) ? q : name;
+        PatientPageDto page = patientService.searchPatients(query, gender, birthDate, country, cursor, size,
+                "full".equals(fields));
+        return ResponseEntity.ok(page);
     }
 
     // 3. 환자 정보 조회 API (DB ID 기준)
@@ -110,17 +118,28 @@ public class PatientController {
         return ResponseEntity.ok(Map.of("message", "모든 환자 정보가 성공적으로 삭제되었습니다."));
     }
 
-    // 7. 모든 환자 목록 조회 API
+    // 7. 로그인 사용자의 환자 목록 조회 API (keyset 페이지네이션)
+    //    sort: patientId(기본, 최근 등록순) | lastAnalysisAt(최근 분석순)
+    //    fields: full(기본, X-ray/진단 결과 포함) | summary(환자 정보만)
     @GetMapping
-    public ResponseEntity<List<PatientDto>> getAllPatients() {
-        List<PatientDto> allPatients = patientService.findAllPatientsWithDetails();
-        return ResponseEntity.ok(allPatients);
+    public ResponseEntity<PatientPageDto> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "patientId") @Pattern(regexp = "^(patientId|lastAnalysisAt)$") String sort,
+            @RequestParam(defaultValue = "full") @Pattern(regexp = "^(full|summary)$") String fields
+    ) {
+        PatientPageDto page = patientService.findMyPatients(cursor, size, sort, "full".equals(fields));
+        return ResponseEntity.ok(page);
     }
 
-    // 8. 모든 환자 및 X-ray 이미지 목록 조회 API (새로 추가)
+    // 8. 로그인 사용자의 환자 및 X-ray 이미지 목록 조회 API (keyset 페이지네이션)
     @GetMapping("/with-xrays")
-    public ResponseEntity<List<PatientDto>> getAllPatientsWithXrays() {
-        List<PatientDto> allPatientsWithXrays = patientService.findAllPatientsWithXrays();
-        return ResponseEntity.ok(allPatientsWithXrays);
+    public ResponseEntity<PatientPageDto> getAllPatientsWithXrays(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "patientId") @Pattern(regexp = "^(patientId|lastAnalysisAt)$") String sort
+    ) {
+        PatientPageDto page = patientService.findMyPatients(cursor, size, sort, true);
+        return ResponseEntity.ok(page);
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
@@ -13,6 +14,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "gcs", matchIfMissing = true) // local 저장소 사용 시 Firebase 키 불필요
 public class FirebaseConfig {
 
     private final String FIREBASE_KEY_FILENAME = "eyes-of-breath-firebase-adminsdk-fbsvc-a2063d8b4b.json";
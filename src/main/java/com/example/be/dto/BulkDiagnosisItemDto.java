@@ -0,0 +1,15 @@
+package com.example.be.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 다중 이미지 진단 응답의 이미지별 결과 (NDJSON 한 줄)
+@Getter
+@Builder
+public class BulkDiagnosisItemDto {
+    private Integer index; // 요청한 files 순서 (0부터)
+    private String fileName;
+    private boolean success;
+    private DiagnosisJobDto job; // 작업이 만들어진 경우 (COMPLETED면 진단 결과 포함)
+    private String errorMessage;
+}
@@ -17,14 +17,21 @@ public class CommentDto {
     private Integer patientId;
 
     public static CommentDto fromEntity(Comment entity) {
+        return fromEntity(entity,
+                entity.getDiagnosisResult().getResultId(),
+                entity.getDiagnosisResult().getXrayImage().getPatient().getPatientId());
+    }
+
+    // 결과 ID/환자 ID를 이미 알고 있을 때 연관 엔티티를 다시 로딩하지 않고 변환
+    public static CommentDto fromEntity(Comment entity, Integer resultId, Integer patientId) {
         return CommentDto.builder()
                 .commentId(entity.getCommentId())
-                .resultId(entity.getDiagnosisResult().getResultId())
+                .resultId(resultId)
                 .memberId(entity.getMember().getId())
                 .memberNickname(entity.getMember().getNickname())
                 .content(entity.getContent())
                 .createdAt(entity.getCreatedAt())
-                .patientId(entity.getDiagnosisResult().getXrayImage().getPatient().getPatientId())
+                .patientId(patientId)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.be.dto;
+
+import com.example.be.entity.DiagnosisJob;
+import com.example.be.entity.DiagnosisJobStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class DiagnosisJobDto {
+    private Integer jobId;
+    private DiagnosisJobStatus status;
+    private Integer patientId;
+    private Integer imageId;
+    private Integer resultId;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private DiagnosisResultDto diagnosisResult; // COMPLETED 상태일 때만 채워짐
+
+    public static DiagnosisJobDto fromEntity(DiagnosisJob entity) {
+        return DiagnosisJobDto.builder()
+                .jobId(entity.getJobId())
+                .status(entity.getStatus())
+                .patientId(entity.getPatientId())
+                .imageId(entity.getImageId())
+                .resultId(entity.getResultId())
+                .errorMessage(entity.getErrorMessage())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
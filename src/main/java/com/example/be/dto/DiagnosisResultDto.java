@@ -1,6 +1,7 @@
 package com.example.be.dto;
 
 import com.example.be.entity.DiagnosisResult;
+import com.example.be.entity.XrayImage;
 import lombok.Builder;
 import lombok.Getter;
 import java.time.LocalDateTime;
@@ -34,15 +35,22 @@ public class DiagnosisResultDto {
                         .map(CommentDto::fromEntity)
                         .collect(Collectors.toList()) :
                 List.of();
+        return fromEntity(entity, entity.getXrayImage(),
+                entity.getXrayImage().getPatient().getPatientId(), commentDtos);
+    }
+
+    // 이미 로딩된 X-ray/소견 목록으로 변환 (조회 전용 경로에서 지연 로딩 없이 사용)
+    public static DiagnosisResultDto fromEntity(DiagnosisResult entity, XrayImage xrayImage,
+                                                Integer patientId, List<CommentDto> commentDtos) {
         return DiagnosisResultDto.builder()
                 .resultId(entity.getResultId())
-                .imageId(entity.getXrayImage().getImageId())
-                .imageUrl(entity.getXrayImage().getImageUrl())
+                .imageId(xrayImage.getImageId())
+                .imageUrl(xrayImage.getImageUrl())
                 .predictedDisease(entity.getPredictedDisease())
                 .probability(entity.getProbability())
                 .gradcamImagePath(entity.getGradcamImagePath())
                 .createdAt(entity.getCreatedAt())
-                .patientId(entity.getXrayImage().getPatient().getPatientId())
+                .patientId(patientId)
                 .top1Disease(entity.getTop1Disease())
                 .top1Probability(entity.getTop1Probability())
                 .top2Disease(entity.getTop2Disease())
@@ -1,6 +1,7 @@
 package com.example.be.dto;
 
 import com.example.be.entity.Patient;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Pattern;
 import lombok.*;
 import lombok.AllArgsConstructor;
@@ -38,6 +39,7 @@ public class PatientDto {
     private String specialNotes;
     private Integer memberId;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL) // fields=summary 목록 조회 시 응답에서 생략
     private List<XrayImageDto> xrayImages;
     private DiagnosisResultDto diagnosisResult;
 
@@ -24,6 +24,11 @@ public class ResponseDto {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseBody);
     }
 
+    public static ResponseEntity<ResponseDto> serverBusy() {
+        ResponseDto responseBody = new ResponseDto(ResponseCode.SERVER_BUSY, ResponseMessage.SERVER_BUSY);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(responseBody);
+    }
+
     public static ResponseEntity<ResponseDto> validationFail() {
         ResponseDto responseBody = new ResponseDto(ResponseCode.VALIDATION_FAIL, ResponseMessage.VALIDATION_FAIL);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseBody);
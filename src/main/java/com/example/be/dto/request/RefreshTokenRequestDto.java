@@ -0,0 +1,14 @@
+package com.example.be.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshTokenRequestDto {
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,15 @@
+package com.example.be.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 모델 서버 배치 추론 응답 (results 순서 = 요청한 imageUrls 순서)
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AiBatchResponseDto {
+    private List<AiResponseDto> results;
+}
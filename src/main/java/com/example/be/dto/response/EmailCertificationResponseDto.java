@@ -4,6 +4,7 @@ import com.example.be.common.ResponseCode;
 import com.example.be.common.ResponseMessage;
 import com.example.be.dto.ResponseDto;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -28,4 +29,11 @@ public class EmailCertificationResponseDto extends ResponseDto {
         ResponseDto responseBody = new ResponseDto(ResponseCode.MAIL_FAIL, ResponseMessage.MAIL_FAIL);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(responseBody);
     }
+
+    public static ResponseEntity<ResponseDto> tooManyRequests(long retryAfterSeconds) {
+        ResponseDto responseBody = new ResponseDto(ResponseCode.TOO_MANY_REQUESTS, ResponseMessage.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(responseBody);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.be.dto.response;
+
+import com.example.be.common.ResponseCode;
+import com.example.be.common.ResponseMessage;
+import com.example.be.dto.ResponseDto;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@Getter
+public class RefreshTokenResponseDto extends ResponseDto {
+
+    private String accessToken;
+    private long accessTokenExpiresIn;
+    private String refreshToken; // 사용한 리프레시 토큰은 폐기되므로 클라이언트는 이 값으로 교체
+    private long refreshTokenExpiresIn;
+
+    private RefreshTokenResponseDto(String accessToken, long accessTokenExpiresIn,
+                                    String refreshToken, long refreshTokenExpiresIn) {
+        super();
+        this.accessToken = accessToken;
+        this.accessTokenExpiresIn = accessTokenExpiresIn;
+        this.refreshToken = refreshToken;
+        this.refreshTokenExpiresIn = refreshTokenExpiresIn;
+    }
+
+    public static ResponseEntity<RefreshTokenResponseDto> success(String accessToken, long accessTokenExpiresIn,
+                                                                  String refreshToken, long refreshTokenExpiresIn) {
+        RefreshTokenResponseDto responseBody =
+                new RefreshTokenResponseDto(accessToken, accessTokenExpiresIn, refreshToken, refreshTokenExpiresIn);
+        return ResponseEntity.status(HttpStatus.OK).body(responseBody);
+    }
+
+    // 없거나 만료/재사용된 리프레시 토큰 → 재로그인 필요
+    public static ResponseEntity<ResponseDto> refreshFail() {
+        ResponseDto responseBody = new ResponseDto(ResponseCode.AUTHORIZATION_FAIL, ResponseMessage.AUTHORIZATION_FAIL);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.be.common.ResponseCode;
 import com.example.be.common.ResponseMessage;
 import com.example.be.dto.ResponseDto;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -11,21 +12,28 @@ import org.springframework.http.ResponseEntity;
 public class SignInResponseDto extends ResponseDto {
 
     private String accessToken;
-    private int accessTokenExpiresIn;
+    private long accessTokenExpiresIn; // 초 단위. 만료되면 refreshToken 으로 /api/v1/auth/refresh 호출
+    private String refreshToken;
+    private long refreshTokenExpiresIn;
     private Integer memberId;
     private String nickname;
 
-    private SignInResponseDto(String accessToken, Integer memberId, String nickname) {
+    private SignInResponseDto(String accessToken, long accessTokenExpiresIn, String refreshToken,
+                              long refreshTokenExpiresIn, Integer memberId, String nickname) {
         super();
         this.accessToken = accessToken;
-        this.accessTokenExpiresIn = 3600; // 1시간
-//        this.accessTokenExpiresIn = 3600 * 24 * 7; //7일
+        this.accessTokenExpiresIn = accessTokenExpiresIn;
+        this.refreshToken = refreshToken;
+        this.refreshTokenExpiresIn = refreshTokenExpiresIn;
         this.memberId = memberId;
         this.nickname = nickname; //  닉네임 초기화
     }
 
-    public static ResponseEntity<SignInResponseDto> success(String accessToken, Integer memberId,String nickname) { // success 메소드에 nickname 추가
-        SignInResponseDto responseBody = new SignInResponseDto(accessToken, memberId, nickname);
+    public static ResponseEntity<SignInResponseDto> success(String accessToken, long accessTokenExpiresIn,
+                                                            String refreshToken, long refreshTokenExpiresIn,
+                                                            Integer memberId, String nickname) {
+        SignInResponseDto responseBody = new SignInResponseDto(accessToken, accessTokenExpiresIn,
+                refreshToken, refreshTokenExpiresIn, memberId, nickname);
         return ResponseEntity.status(HttpStatus.OK).body(responseBody);
     }
 
@@ -33,4 +41,11 @@ public class SignInResponseDto extends ResponseDto {
         ResponseDto responseBody = new ResponseDto(ResponseCode.SIGN_IN_FAIL, ResponseMessage.SIGN_IN_FAIL);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
     }
+
+    public static ResponseEntity<ResponseDto> tooManyRequests(long retryAfterSeconds) {
+        ResponseDto responseBody = new ResponseDto(ResponseCode.TOO_MANY_REQUESTS, ResponseMessage.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(responseBody);
+    }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,6 @@ public class Certification {
     @Id
     private String email;
     private String certificationNumber;
+    // certification.store=database 일 때 만료 시각 (이후 조회 제외 및 주기적 삭제)
+    private LocalDateTime expiresAt;
 }
\ No newline at end of file
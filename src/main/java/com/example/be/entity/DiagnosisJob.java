@@ -0,0 +1,69 @@
+package com.example.be.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "diagnosis_job", indexes = {
+        @Index(name = "idx_diagnosis_job_member", columnList = "member_id, job_id")
+})
+public class DiagnosisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Integer jobId;
+
+    // 작업 행은 환자/이미지 삭제와 무관하게 남아야 하므로 FK 대신 ID만 보관
+    @Column(name = "member_id", nullable = false)
+    private Integer memberId;
+
+    @Column(name = "patient_id", nullable = false)
+    private Integer patientId;
+
+    @Column(name = "image_id", nullable = false)
+    private Integer imageId;
+
+    @Column(name = "result_id")
+    private Integer resultId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private DiagnosisJobStatus status;
+
+    @Column(name = "error_message", length = 512)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void startInference() {
+        this.status = DiagnosisJobStatus.INFERRING;
+    }
+
+    public void complete(Integer resultId) {
+        this.resultId = resultId;
+        this.status = DiagnosisJobStatus.COMPLETED;
+    }
+
+    public void fail(String errorMessage) {
+        this.errorMessage = errorMessage != null && errorMessage.length() > 512
+                ? errorMessage.substring(0, 512) : errorMessage;
+        this.status = DiagnosisJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.be.entity;
+
+public enum DiagnosisJobStatus {
+    PENDING,    // X-ray 메타와 작업이 저장되고 워커 대기 중
+    INFERRING,  // 업로드 완료, AI 서버 추론 중
+    COMPLETED,  // 진단 결과 저장 완료
+    FAILED      // 업로드 또는 추론 실패
+}
@@ -60,4 +60,20 @@ public class DiagnosisResult {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // 같은 내용의 X-ray가 다시 업로드됐을 때 AI 결과(top3, Grad-CAM)를 새 이미지에 복사
+    public DiagnosisResult copyFor(XrayImage xrayImage) {
+        return DiagnosisResult.builder()
+                .xrayImage(xrayImage)
+                .predictedDisease(predictedDisease)
+                .probability(probability)
+                .gradcamImagePath(gradcamImagePath)
+                .top1Disease(top1Disease)
+                .top1Probability(top1Probability)
+                .top2Disease(top2Disease)
+                .top2Probability(top2Probability)
+                .top3Disease(top3Disease)
+                .top3Probability(top3Probability)
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.be.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 발송할 메일 (요청 트랜잭션에서 함께 저장하고 EmailOutboxDispatcher 가 비동기로 발송)
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "html_body", nullable = false, columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // PENDING: 이 시각 이후 발송 대상. 발송 중에는 리스 만료 시각(워커가 죽으면 만료 후 다시 집어감)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public static EmailOutbox pending(String recipient, String subject, String htmlBody) {
+        return EmailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .htmlBody(htmlBody)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void claim(LocalDateTime leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void fail(String error) {
+        this.status = EmailOutboxStatus.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 512 ? error.substring(0, 512) : error;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.be.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,    // 발송 대기 또는 재시도 대기 (발송 성공 시 행 삭제)
+    FAILED      // 재시도 한도 초과 또는 영구 실패 (수신 주소 거부 등)
+}
@@ -1,6 +1,7 @@
 package com.example.be.entity;
 
 import com.example.be.dto.PatientDto;
+import com.example.be.service.search.PatientSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +16,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_member_patient", columnList = "member_id, patient_id"),
+        @Index(name = "idx_patients_member_last_analysis", columnList = "member_id, last_analysis_at, patient_id")
+})
+@EntityListeners(PatientSearchIndexListener.class) // 검색 색인 동기화
 public class Patient {
 
     @Id
@@ -82,5 +87,10 @@ public class Patient {
         // 필요에 따라 다른 필드들도 여기에 추가
     }
 
+    // 진단 결과가 저장될 때 마지막 분석 시각 갱신
+    public void recordAnalysis(LocalDateTime analyzedAt) {
+        this.lastAnalysisAt = analyzedAt;
+    }
+
 
 }
\ No newline at end of file
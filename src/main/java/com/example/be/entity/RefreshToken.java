@@ -0,0 +1,45 @@
+package com.example.be.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 리프레시 토큰 (원문은 저장하지 않고 SHA-256 해시만 보관). 로그인 1회 = family 1개, 재발급할 때마다 같은 family 에 새 행이 추가된다.
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "uk_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_member", columnList = "member_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "refresh_token_id")
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, columnDefinition = "CHAR(64)")
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, columnDefinition = "CHAR(32)")
+    private String familyId;
+
+    @Column(name = "member_id", nullable = false)
+    private Integer memberId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // 재발급에 사용된 시각. null 이면 아직 쓰지 않은 (현재 유효한) 토큰
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+}
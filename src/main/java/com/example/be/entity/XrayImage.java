@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "xray_images")
+@Table(name = "xray_images", indexes = {
+        @Index(name = "idx_xray_images_content_hash", columnList = "content_hash")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class XrayImage {
 
@@ -39,6 +41,10 @@ public class XrayImage {
     @Column(name = "file_size")
     private Integer fileSize;
 
+    // 원본 파일 SHA-256 (hex), 같은 필름 재업로드 판별용
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "taken_at")
     private LocalDate takenAt;
 
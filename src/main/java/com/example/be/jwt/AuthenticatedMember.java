@@ -0,0 +1,7 @@
+package com.example.be.jwt;
+
+import java.util.List;
+
+// 액세스 토큰 클레임으로 확인한 로그인 회원 (요청마다 DB 를 조회하지 않음)
+public record AuthenticatedMember(Integer memberId, String email, List<String> roles) {
+}
@@ -1,40 +1,29 @@
 package com.example.be.jwt;
 
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import com.example.be.entity.EmailOutbox;
+import com.example.be.mail.EmailOutboxDispatcher;
+import com.example.be.repository.EmailOutboxRepository;
 import org.springframework.stereotype.Component;
 
 @Component
 public class EmailProvider {
 
-    private final JavaMailSender javaMailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
 
-    public EmailProvider(final JavaMailSender javaMailSender) {
-        this.javaMailSender = javaMailSender;
+    public EmailProvider(final EmailOutboxRepository emailOutboxRepository,
+                         final EmailOutboxDispatcher emailOutboxDispatcher) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailOutboxDispatcher = emailOutboxDispatcher;
     }
 
     private final String SUBJECT = "[eyes of breath 서비스 인증 메일]";
 
-    public boolean sendCertificationEmail(String email, String certificationNumber){
-        try{
-            MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, true);
-
-            String htmlContent = getCertificationMessage(certificationNumber);
-
-            mimeMessageHelper.setTo(email);
-            mimeMessageHelper.setSubject(SUBJECT);
-            mimeMessageHelper.setText(htmlContent, true);
-
-            javaMailSender.send(mimeMessage);
-
-        } catch (Exception exception){
-            exception.printStackTrace();
-            return false;
-        }
-
-        return true;
+    // 호출한 트랜잭션에 outbox 행을 추가하고, 실제 발송은 커밋 후 EmailOutboxDispatcher 가 담당
+    public void enqueueCertificationEmail(String email, String certificationNumber) {
+        String htmlContent = getCertificationMessage(certificationNumber);
+        emailOutboxRepository.save(EmailOutbox.pending(email, SUBJECT, htmlContent));
+        emailOutboxDispatcher.wakeUpAfterCommit();
     }
 
     private String getCertificationMessage (String certificationNumber){
@@ -43,4 +32,4 @@ public class EmailProvider {
         certificationMessage += "<h3 style='text-align: center;>인증코드 : <strong style='font-size: 32px;'>" + certificationNumber + "</strong><h3>";
         return certificationMessage;
     }
-}
\ No newline at end of file
+}
@@ -1,33 +1,33 @@
 package com.example.be.jwt;
 
-import com.example.be.entity.Member;
-import com.example.be.repository.MemberRepository;
+import com.example.be.service.CurrentMemberProvider;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
-    private final MemberRepository memberRepository;
+    private final CurrentMemberProvider currentMemberProvider;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -39,32 +39,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            String email = jwtProvider.validate(token);
-            if (email == null) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
-            Member member = memberRepository.findByEmail(email).orElse(null);
+            // 서명과 만료만 확인하고 회원 정보는 클레임에서 꺼냄 (요청마다 DB 조회하지 않음)
+            AuthenticatedMember member = jwtProvider.authenticate(token);
             if (member == null) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            // 사용자 역할은 "USER"로 고정 (별도의 role 필드가 없으므로)
-            List<GrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+            List<GrantedAuthority> authorities = member.roles().stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList();
 
             SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
             AbstractAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    member.getEmail(), null, authorities
+                    member.email(), null, authorities
             );
-            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            authenticationToken.setDetails(member);
             securityContext.setAuthentication(authenticationToken);
             SecurityContextHolder.setContext(securityContext);
+            currentMemberProvider.bind(request, member);
 
+        } catch (ExpiredJwtException exception) {
+            log.debug("만료된 JWT로 요청: {}", request.getRequestURI());
         } catch (Exception exception) {
-            exception.printStackTrace();
+            log.warn("JWT 인증 처리 실패: {}", exception.getMessage());
         }
 
         filterChain.doFilter(request, response);
@@ -1,77 +1,135 @@
 package com.example.be.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class JwtProvider {
 
-    @Value("${spring.jwt.secret}")
-    private String secretKey;
+    public static final String ROLE_USER = "USER";
+    private static final String MEMBER_ID_CLAIM = "mid";
+    private static final String ROLES_CLAIM = "roles";
 
-    // JWT 생성 메서드
-    public String create(String email) {
-//        Date expiredDate = Date.from(Instant.now().plus(1, ChronoUnit.HOURS)); // 1시간 유효한 토큰 생성
-        Date expiredDate = Date.from(Instant.now().plus(7, ChronoUnit.DAYS)); //유효 시간을 7일로 변경
-        Key key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    // 서명 키와 파서는 시작 시 한 번만 만들고 재사용 (JwtParser 는 thread-safe)
+    private final Key key;
+    private final JwtParser parser;
+
+    // 최근 검증에 성공한 토큰 → Claims. 같은 토큰으로 반복 요청 시 HMAC 검증 생략
+    // 항목은 ttl-seconds 와 토큰 만료 시각 중 이른 시점에 제거된다.
+    private final Cache<String, Claims> verifiedTokens;
+
+    // 액세스 토큰은 DB 조회 없이 클레임만으로 인증하므로 짧게 유지하고, 만료 시 리프레시 토큰으로 재발급
+    private final long accessTokenTtlSeconds;
+
+    public JwtProvider(@Value("${spring.jwt.secret}") String secretKey,
+                       @Value("${jwt.access-token.ttl-seconds:900}") long accessTokenTtlSeconds,
+                       @Value("${jwt.verified-cache.max-size:2048}") long verifiedCacheMaxSize,
+                       @Value("${jwt.verified-cache.ttl-seconds:300}") long verifiedCacheTtlSeconds) {
+        this.accessTokenTtlSeconds = accessTokenTtlSeconds;
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new ClaimsExpiry(TimeUnit.SECONDS.toNanos(verifiedCacheTtlSeconds)))
+                .build();
+    }
+
+    // 액세스 토큰 생성 (subject = 이메일, mid = 회원 ID, roles = 권한)
+    public String create(Integer memberId, String email) {
+        Instant now = Instant.now();
+        Date expiredDate = Date.from(now.plusSeconds(accessTokenTtlSeconds));
 
         return Jwts.builder()
                 .signWith(key, SignatureAlgorithm.HS256)
                 .setSubject(email)
-                .setIssuedAt(new Date())
+                .claim(MEMBER_ID_CLAIM, memberId)
+                .claim(ROLES_CLAIM, List.of(ROLE_USER))
+                .setIssuedAt(Date.from(now))
                 .setExpiration(expiredDate)
                 .compact();
     }
 
-    // JWT 유효성 검증 및 이메일 반환 메서드
-    public String validate(String jwt) {
-        try {
-            Claims claims = getClaimsFromToken(jwt);
-            return claims.getSubject(); // JWT의 subject(이메일) 반환
-
-        } catch (ExpiredJwtException e) {
-            System.out.println("JWT가 만료되었습니다.");
-            // 만료된 토큰에 대한 특별한 처리 필요 시 여기서 처리
-            throw e; // 필요에 따라 예외를 다시 던지거나, null을 반환하여 만료된 상태를 알릴 수 있음
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+    public long accessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
     }
 
-    // 토큰에서 이메일 추출 메서드
-    public String getEmailFromToken(String jwt) {
+    // 액세스 토큰 검증 후 클레임 반환. 잘못된 토큰이나 회원 ID 클레임이 없는 이전 형식 토큰은 null
+    // 만료된 토큰은 ExpiredJwtException 을 그대로 던진다
+    public AuthenticatedMember authenticate(String jwt) {
         Claims claims = getClaimsFromToken(jwt);
-        return claims != null ? claims.getSubject() : null;
+        if (claims == null) {
+            return null;
+        }
+        Integer memberId = claims.get(MEMBER_ID_CLAIM, Integer.class);
+        if (memberId == null || claims.getSubject() == null) {
+            return null;
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return new AuthenticatedMember(memberId, claims.getSubject(),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList());
     }
 
     // JWT에서 Claims(클레임) 추출 메서드
     private Claims getClaimsFromToken(String jwt) {
-        Key key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        Claims cached = verifiedTokens.getIfPresent(jwt);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(jwt)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(jwt).getBody();
+            verifiedTokens.put(jwt, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
-            System.out.println("JWT가 만료되었습니다.");
+            log.debug("JWT가 만료되었습니다. subject={}", e.getClaims().getSubject());
             throw e; // 만료된 JWT의 경우 예외를 다시 던질 수 있음
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("유효하지 않은 JWT: {}", e.getMessage());
             return null;
         }
     }
-}
 
+    // 캐시 항목 수명 = min(설정 TTL, 토큰 만료까지 남은 시간)
+    private record ClaimsExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
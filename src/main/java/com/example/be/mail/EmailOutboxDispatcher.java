@@ -0,0 +1,230 @@
+package com.example.be.mail;
+
+import com.example.be.entity.EmailOutbox;
+import com.example.be.entity.EmailOutboxStatus;
+import com.example.be.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * email_outbox 발송 워커.
+ * 요청 트랜잭션이 커밋되면 wakeUp() 으로 바로 깨우고, 놓친 행은 poll-interval-ms 주기로 다시 확인한다.
+ * 1. 발송 대상 batch-size 건을 SKIP LOCKED 로 선점하고 lease-ms 동안 리스를 잡는다 (여러 인스턴스 동시 실행 안전).
+ * 2. SmtpTransportPool 의 연결을 재사용해 병렬 발송한다.
+ * 3. 성공한 행은 삭제, 실패한 행은 지수 백오프(+지터)로 재시도 예약, 한도 초과/수신 거부는 FAILED 로 남긴다.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpTransportPool transportPool;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final long leaseMillis;
+
+    private final TaskExecutor dispatchExecutor;
+    private final TaskExecutor sendExecutor;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 JavaMailSenderImpl mailSender,
+                                 SmtpTransportPool transportPool,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier("mailOutboxDispatchExecutor") TaskExecutor dispatchExecutor,
+                                 @Qualifier("mailSendExecutor") TaskExecutor sendExecutor,
+                                 @Value("${mail.outbox.batch-size:20}") int batchSize,
+                                 @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${mail.outbox.backoff-ms:5000}") long backoffMillis,
+                                 @Value("${mail.outbox.max-backoff-ms:600000}") long maxBackoffMillis,
+                                 @Value("${mail.outbox.lease-ms:120000}") long leaseMillis) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.dispatchExecutor = dispatchExecutor;
+        this.sendExecutor = sendExecutor;
+        this.sendTimer = Timer.builder("mail.outbox.send")
+                .description("SMTP 메일 1건 발송 시간")
+                .register(meterRegistry);
+        this.sent = deliveryCounter(meterRegistry, "sent");
+        this.retried = deliveryCounter(meterRegistry, "retry");
+        this.failed = deliveryCounter(meterRegistry, "failed");
+    }
+
+    /** 트랜잭션 안에서 outbox 행을 저장한 뒤 호출. 커밋 후 발송 워커를 깨운다. */
+    public void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+    public void wakeUp() {
+        // 이미 대기 중인 drain 이 있으면 합친다
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                dispatchExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        // drain 도중 들어온 wakeUp 은 다음 drain 으로 이어지도록 먼저 해제
+        drainScheduled.set(false);
+        try {
+            List<OutboxMessage> claimed;
+            do {
+                claimed = claimBatch();
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                // 전부 제출한 뒤에 기다려야 병렬로 발송됨
+                List<CompletableFuture<Delivery>> pending = claimed.stream()
+                        .map(message -> CompletableFuture.supplyAsync(() -> deliver(message), sendExecutor))
+                        .toList();
+                record(pending.stream().map(CompletableFuture::join).toList());
+            } while (claimed.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("[MailOutbox] 발송 처리 실패", e);
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(
+                    EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            LocalDateTime leaseUntil = now.plusNanos(leaseMillis * 1_000_000);
+            return due.stream()
+                    .map(outbox -> {
+                        outbox.claim(leaseUntil);
+                        return new OutboxMessage(outbox.getOutboxId(), outbox.getRecipient(), outbox.getSubject(),
+                                outbox.getHtmlBody(), outbox.getAttempts());
+                    })
+                    .toList();
+        });
+    }
+
+    private Delivery deliver(OutboxMessage message) {
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+            helper.setTo(message.recipient());
+            helper.setSubject(message.subject());
+            helper.setText(message.htmlBody(), true);
+            sendTimer.recordCallable(() -> {
+                transportPool.send(mimeMessage);
+                return null;
+            });
+            return new Delivery(message, null);
+        } catch (Exception e) {
+            return new Delivery(message, e);
+        }
+    }
+
+    private void record(List<Delivery> deliveries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Delivery delivery : deliveries) {
+                OutboxMessage message = delivery.message();
+                if (delivery.error() == null) {
+                    emailOutboxRepository.deleteById(message.outboxId());
+                    sent.increment();
+                    continue;
+                }
+                EmailOutbox outbox = emailOutboxRepository.findById(message.outboxId()).orElse(null);
+                if (outbox == null) {
+                    continue;
+                }
+                String error = delivery.error().getClass().getSimpleName() + ": " + delivery.error().getMessage();
+                if (isPermanent(delivery.error()) || message.attempts() >= maxAttempts) {
+                    outbox.fail(error);
+                    failed.increment();
+                    log.warn("[MailOutbox] 발송 포기 (id={}, 시도 {}회): {}", message.outboxId(), message.attempts(), error);
+                } else {
+                    outbox.retryAt(LocalDateTime.now().plusNanos(backoff(message.attempts()) * 1_000_000), error);
+                    retried.increment();
+                    log.info("[MailOutbox] 발송 실패, 재시도 예약 (id={}, 시도 {}회): {}", message.outboxId(), message.attempts(), error);
+                }
+            }
+        });
+    }
+
+    // backoff-ms × 2^(시도-1), 최대 max-backoff-ms, ±20% 지터
+    private long backoff(int attempts) {
+        long delay = backoffMillis << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMillis);
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    // 수신 주소 자체가 잘못된 경우는 재시도해도 같은 결과
+    private static boolean isPermanent(Exception error) {
+        if (error instanceof AddressException) {
+            return true;
+        }
+        return error instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null
+                && sendFailed.getInvalidAddresses().length > 0;
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("mail.outbox.deliveries")
+                .description("outbox 메일 발송 결과")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record OutboxMessage(Long outboxId, String recipient, String subject, String htmlBody, int attempts) {
+    }
+
+    private record Delivery(OutboxMessage message, Exception error) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.be.mail;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 연결을 유지한 SMTP Transport 풀.
+ * JavaMailSenderImpl.send 는 호출마다 연결 + STARTTLS + AUTH 를 새로 하므로,
+ * 발송 워커는 여기서 연결을 빌려 여러 메일을 같은 연결로 보낸다.
+ * max-size 로 SMTP 서버에 여는 동시 연결 수를 제한하고, max-idle-ms 동안 쓰지 않은 연결은 닫는다.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final int maxSize;
+    private final long maxIdleMillis;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${mail.smtp.pool.max-size:2}") int maxSize,
+                             @Value("${mail.smtp.pool.max-idle-ms:60000}") long maxIdleMillis) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(maxSize);
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("SMTP 연결 대기 중 인터럽트", e);
+        }
+        PooledTransport pooled = null;
+        boolean reusable = false;
+        try {
+            pooled = borrow();
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport().sendMessage(message, message.getAllRecipients());
+            reusable = true;
+        } catch (SendFailedException e) {
+            // 수신 주소 거부는 연결 자체와 무관
+            reusable = pooled != null && pooled.transport().isConnected();
+            throw e;
+        } finally {
+            if (pooled != null) {
+                if (reusable) {
+                    idle.offerFirst(new PooledTransport(pooled.transport(), System.currentTimeMillis()));
+                } else {
+                    closeQuietly(pooled.transport());
+                }
+            }
+            permits.release();
+        }
+    }
+
+    // 오래 쉰 연결은 서버가 먼저 끊기 전에 정리
+    @Scheduled(fixedDelayString = "${mail.smtp.pool.max-idle-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledTransport> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (now - pooled.lastUsedAt() > maxIdleMillis && idle.removeFirstOccurrence(pooled)) {
+                closeQuietly(pooled.transport());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled.transport());
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            boolean fresh = System.currentTimeMillis() - pooled.lastUsedAt() <= maxIdleMillis;
+            if (fresh && pooled.transport().isConnected()) {
+                return pooled;
+            }
+            closeQuietly(pooled.transport());
+        }
+        return new PooledTransport(connect(), System.currentTimeMillis());
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(
+                StringUtils.hasLength(mailSender.getProtocol()) ? mailSender.getProtocol() : "smtp");
+        String username = StringUtils.hasLength(mailSender.getUsername()) ? mailSender.getUsername() : null;
+        String password = StringUtils.hasLength(mailSender.getPassword()) ? mailSender.getPassword() : null;
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        log.debug("[SmtpPool] 새 SMTP 연결: {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("[SmtpPool] 연결 종료 실패: {}", e.getMessage());
+        }
+    }
+
+    private record PooledTransport(Transport transport, long lastUsedAt) {
+    }
+}
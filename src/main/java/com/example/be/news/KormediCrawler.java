@@ -1,75 +1,204 @@
 package com.example.be.news;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
+/**
+ * 코메디 RSS 증분 크롤러.
+ * - 피드는 ETag / Last-Modified 로 조건부 요청하고 304 면 아무것도 가져오지 않는다.
+ * - 이미 저장된 URL 은 기사 본문을 다시 내려받기 전에 걸러낸다.
+ * - 요약 추출은 병렬로 하되 호스트별 동시 요청 수를 per-host-concurrency 로 제한한다.
+ */
 @Slf4j
+@Component
 public class KormediCrawler {
 
     private static final String RSS_URL = "https://kormedi.com/rss";
+    private static final String USER_AGENT = "Mozilla/5.0";
     private static final Set<String> KEYWORDS = Set.of("의료", "바이오", "의사", "병원", "병", "암", "수술", "AI", "인공지능");
 
-    public static List<NewsDto> crawlFromRss() {
-        List<NewsDto> newsList = new ArrayList<>();
-        try {
-            Document doc = Jsoup.connect(RSS_URL)
-                    .userAgent("Mozilla/5.0")
-                    .timeout(10000)
-                    .get();
+    private final NewsRepository newsRepository;
+    private final TaskExecutor fetchExecutor;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final int perHostConcurrency;
+    private final int timeoutMillis;
 
-            Elements items = doc.select("item");
-            for (Element item : items) {
-                String title = item.selectFirst("title").text();
-                String link = item.selectFirst("link").text();
-                String pubDate = item.selectFirst("pubDate").text();
+    private final MeterRegistry meterRegistry;
+    private final Counter feedItems;
+    private final Counter keywordSkipped;
+    private final Counter knownSkipped;
+    private final Counter crawledItems;
+    private final Counter summaryFailures;
 
-                // 키워드 필터
-                if (KEYWORDS.stream().noneMatch(title::contains)) {
-                    continue;
-                }
+    // 마지막으로 성공한 피드 응답의 검증자 (스케줄러 단일 스레드에서만 갱신)
+    private volatile String feedEtag;
+    private volatile String feedLastModified;
 
-                String summary = extractSummaryFromArticle(link);
-
-                NewsDto dto = NewsDto.builder()
-                        .title(title.length() > 255 ? title.substring(0, 255) : title)
-                        .summary(summary)
-                        .newsUrl(link)
-                        .publishedAt(parsePubDate(pubDate))
-                        .crawledAt(LocalDateTime.now())
-                        .build();
+    public KormediCrawler(NewsRepository newsRepository,
+                          MeterRegistry meterRegistry,
+                          @Qualifier("newsFetchExecutor") TaskExecutor fetchExecutor,
+                          @Value("${news.crawler.per-host-concurrency:4}") int perHostConcurrency,
+                          @Value("${news.crawler.timeout-ms:10000}") int timeoutMillis) {
+        this.newsRepository = newsRepository;
+        this.meterRegistry = meterRegistry;
+        this.fetchExecutor = fetchExecutor;
+        this.perHostConcurrency = perHostConcurrency;
+        this.timeoutMillis = timeoutMillis;
+        this.feedItems = itemCounter(meterRegistry, "feed");
+        this.keywordSkipped = itemCounter(meterRegistry, "keyword_skipped");
+        this.knownSkipped = itemCounter(meterRegistry, "known_skipped");
+        this.crawledItems = itemCounter(meterRegistry, "crawled");
+        this.summaryFailures = itemCounter(meterRegistry, "summary_failed");
+    }
 
-                newsList.add(dto);
+    public List<NewsDto> crawlFromRss() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Connection.Response response = fetchFeed();
+            if (response.statusCode() == 304) {
+                outcome = "not_modified";
+                log.info("[KormediCrawler] 피드 변경 없음 (304)");
+                return List.of();
+            }
+            if (response.statusCode() >= 400) {
+                outcome = "failure";
+                log.warn("[KormediCrawler] 피드 요청 실패: HTTP {}", response.statusCode());
+                return List.of();
             }
+
+            List<NewsDto> candidates = parseItems(response.parse());
+            List<NewsDto> newsList = fetchSummaries(excludeKnown(candidates));
+
+            // 본문까지 처리가 끝난 뒤에만 검증자를 갱신해야 실패한 회차를 304 로 건너뛰지 않는다
+            feedEtag = response.header("ETag");
+            feedLastModified = response.header("Last-Modified");
+            crawledItems.increment(newsList.size());
+            return newsList;
         } catch (Exception e) {
+            outcome = "failure";
             log.error("[KormediCrawler] 크롤링 실패: ", e);
+            return List.of();
+        } finally {
+            sample.stop(Timer.builder("news.crawl.duration")
+                    .description("RSS 크롤링 1회 소요 시간")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /** 저장 단계가 실패했을 때 다음 회차에 피드를 다시 받도록 검증자를 비운다. */
+    public void resetFeedValidators() {
+        feedEtag = null;
+        feedLastModified = null;
+    }
+
+    private Connection.Response fetchFeed() throws java.io.IOException {
+        Connection connection = Jsoup.connect(RSS_URL)
+                .userAgent(USER_AGENT)
+                .timeout(timeoutMillis)
+                .ignoreHttpErrors(true);
+        if (feedEtag != null) {
+            connection.header("If-None-Match", feedEtag);
         }
-        return newsList.stream()
-                .filter(n -> n.getNewsUrl() != null && !n.getNewsUrl().isBlank())
-                .distinct()
+        if (feedLastModified != null) {
+            connection.header("If-Modified-Since", feedLastModified);
+        }
+        return connection.execute();
+    }
+
+    private List<NewsDto> parseItems(Document doc) {
+        Map<String, NewsDto> byUrl = new LinkedHashMap<>();
+        Elements items = doc.select("item");
+        feedItems.increment(items.size());
+        for (Element item : items) {
+            String title = textOf(item, "title");
+            String link = textOf(item, "link");
+            if (link.isBlank()) {
+                continue;
+            }
+
+            // 키워드 필터
+            if (KEYWORDS.stream().noneMatch(title::contains)) {
+                keywordSkipped.increment();
+                continue;
+            }
+
+            byUrl.putIfAbsent(link, NewsDto.builder()
+                    .title(title.length() > 255 ? title.substring(0, 255) : title)
+                    .newsUrl(link)
+                    .publishedAt(parsePubDate(textOf(item, "pubDate")))
+                    .build());
+        }
+        return new ArrayList<>(byUrl.values());
+    }
+
+    // 이미 저장된 기사는 본문 요청 전에 제외
+    private List<NewsDto> excludeKnown(List<NewsDto> candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<String> known = new HashSet<>(newsRepository.findExistingUrlHashes(
+                candidates.stream().map(dto -> NewsEntity.hashUrl(dto.getNewsUrl())).collect(Collectors.toList())));
+        List<NewsDto> fresh = candidates.stream()
+                .filter(dto -> !known.contains(NewsEntity.hashUrl(dto.getNewsUrl())))
                 .collect(Collectors.toList());
+        knownSkipped.increment(candidates.size() - fresh.size());
+        return fresh;
     }
 
-    private static LocalDateTime parsePubDate(String raw) {
+    private List<NewsDto> fetchSummaries(List<NewsDto> items) {
+        List<CompletableFuture<NewsDto>> futures = items.stream()
+                .map(dto -> CompletableFuture.supplyAsync(() -> {
+                    dto.setSummary(summaryWithHostLimit(dto.getNewsUrl()));
+                    dto.setCrawledAt(LocalDateTime.now());
+                    return dto;
+                }, fetchExecutor))
+                .collect(Collectors.toList());
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private String summaryWithHostLimit(String url) {
+        Semaphore permits = hostPermits.computeIfAbsent(hostOf(url), host -> new Semaphore(perHostConcurrency));
         try {
-            return LocalDateTime.parse(raw, DateTimeFormatter.RFC_1123_DATE_TIME);
-        } catch (Exception e) {
-            return null;
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            summaryFailures.increment();
+            return "";
+        }
+        try {
+            return extractSummaryFromArticle(url);
+        } finally {
+            permits.release();
         }
     }
 
-    private static String extractSummaryFromArticle(String url) {
+    private String extractSummaryFromArticle(String url) {
         try {
             Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0")
-                    .timeout(10000)
+                    .userAgent(USER_AGENT)
+                    .timeout(timeoutMillis)
                     .get();
 
             // 1. <meta name="description">
@@ -85,8 +214,38 @@ public class KormediCrawler {
                 return text.length() > 220 ? text.substring(0, 220) + "…" : text;
             }
         } catch (Exception e) {
+            summaryFailures.increment();
             log.warn("[KormediCrawler] 요약 추출 실패 ({}): {}", url, e.getMessage());
         }
         return "";
     }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("news.crawl.items")
+                .description("크롤링 단계별 뉴스 항목 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String textOf(Element item, String tag) {
+        Element element = item.selectFirst(tag);
+        return element != null ? element.text().strip() : "";
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : "";
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static LocalDateTime parsePubDate(String raw) {
+        try {
+            return LocalDateTime.parse(raw, DateTimeFormatter.RFC_1123_DATE_TIME);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
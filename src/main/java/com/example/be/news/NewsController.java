@@ -1,32 +1,23 @@
 package com.example.be.news;
 
+import com.example.be.news.NewsFeedCache.NewsFeedPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Sort;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/news")
 public class NewsController {
 
-//    private final NewsRepository newsRepository;
-//
-//    @PostMapping("/add")
-//    public NewsEntity addNews(@RequestBody NewsEntity news) {
-//        // 수집 시간 기본값 세팅
-//        news.setCrawledAt(LocalDateTime.now());
-//        return newsRepository.save(news);
-//    }
-//
-//    @GetMapping
-//    public List<NewsEntity> getAllNews() {
-//        return newsRepository.findAll(Sort.by(Sort.Direction.DESC, "crawledAt"));
-//    }
-// Repository 대신 Service를 주입받도록 변경
-    private final NewsService newsService;
+    private final NewsFeedCache newsFeedCache;
+
+    @Value("${news.feed.max-age-seconds:60}")
+    private long maxAgeSeconds;
 
     // 테스트용으로 남겨두거나, 필요 없다면 삭제해도 됩니다.
     @PostMapping("/add")
@@ -36,10 +27,21 @@ public class NewsController {
         return null; // 실제 구현 필요
     }
 
-    // getAllNews 메서드가 Service를 호출하도록 변경
+    // 뉴스 목록 (최신 수집순, page 는 0부터)
+    // ETag / Last-Modified 를 내려주므로 If-None-Match / If-Modified-Since 가 일치하면 본문 없이 304 응답
     @GetMapping
-    public List<NewsEntity> getAllNews() {
-        return newsService.findAllNews();
+    public ResponseEntity<NewsPageDto> getNews(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        NewsFeedPage feedPage = newsFeedCache.getPage(page, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .eTag(feedPage.etag());
+        if (feedPage.lastModified() != null) {
+            response.lastModified(feedPage.lastModified());
+        }
+        return response.body(feedPage.body());
     }
 
 }
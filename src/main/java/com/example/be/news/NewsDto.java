@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class NewsDto {
+    private Integer newsId;
     private String title;
     private String summary;
     private String newsUrl;
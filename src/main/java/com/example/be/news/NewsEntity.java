@@ -1,12 +1,16 @@
 package com.example.be.news;
 
+import com.example.be.storage.ContentHash;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "news")
+@Table(name = "news", indexes = {
+        @Index(name = "uk_news_url_hash", columnList = "url_hash", unique = true),
+        @Index(name = "idx_news_crawled_at", columnList = "crawled_at, news_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +18,10 @@ import java.time.LocalDateTime;
 @Builder
 public class NewsEntity {
 
+    // IDENTITY 는 insert 마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 pooled 시퀀스 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_seq")
+    @SequenceGenerator(name = "news_seq", sequenceName = "news_seq", allocationSize = 50)
     private Integer newsId;
 
     @Column(nullable = false)
@@ -24,9 +30,25 @@ public class NewsEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String newsUrl;
 
+    // newsUrl 의 SHA-256 (hex). TEXT 컬럼은 일반 인덱스를 걸 수 없어 중복 판별은 이 컬럼으로 한다
+    @Column(name = "url_hash", columnDefinition = "CHAR(64)")
+    private String urlHash;
+
     @Column(columnDefinition = "TEXT")
     private String summary;
 
     private LocalDateTime publishedAt;
     private LocalDateTime crawledAt;
+
+    public static String hashUrl(String newsUrl) {
+        return ContentHash.sha256Hex(newsUrl);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void fillUrlHash() {
+        if (newsUrl != null) {
+            urlHash = hashUrl(newsUrl);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.example.be.news;
+
+import com.example.be.storage.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 공개 뉴스 피드 앞쪽 페이지 캐시.
+ * 뉴스는 스케줄러만 추가하므로 크롤링 직후 refresh() 로 기본 크기(default-size)의 앞 cached-pages 페이지를 통째로 교체한다.
+ * 다른 인스턴스가 저장한 뉴스도 반영되도록 ttl-seconds 가 지나면 다음 조회 때 다시 읽는다.
+ * 캐시된 페이지는 스냅샷의 피드 버전(건수 + 최신 수집 시각)으로 ETag / Last-Modified 를 만든다.
+ * 캐시 밖 페이지는 DB 에서 바로 읽으므로 스냅샷 버전 대신 그 페이지의 건수 + 뉴스 ID 목록으로 ETag 를 만들고,
+ * 앞쪽에 뉴스가 추가되면 내용이 밀리므로 Last-Modified 는 내려주지 않는다.
+ * 바로 읽은 건수가 스냅샷과 다르면(다른 인스턴스가 저장한 경우) TTL 을 기다리지 않고 스냅샷을 다시 읽는다.
+ */
+@Slf4j
+@Component
+public class NewsFeedCache {
+
+    private final NewsService newsService;
+    private final int defaultSize;
+    private final int maxSize;
+    private final int cachedPages;
+    private final Duration ttl;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public NewsFeedCache(NewsService newsService,
+                         @Value("${news.feed.default-size:20}") int defaultSize,
+                         @Value("${news.feed.max-size:100}") int maxSize,
+                         @Value("${news.feed.cached-pages:5}") int cachedPages,
+                         @Value("${news.feed.ttl-seconds:600}") long ttlSeconds) {
+        this.newsService = newsService;
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+        this.cachedPages = cachedPages;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public NewsFeedPage getPage(Integer page, Integer size) {
+        int pageNumber = (page == null || page < 0) ? 0 : page;
+        int pageSize = (size == null || size <= 0) ? defaultSize : Math.min(size, maxSize);
+
+        Snapshot current = currentSnapshot();
+        if (pageSize == defaultSize && pageNumber < current.pages().size()) {
+            return new NewsFeedPage(current.pages().get(pageNumber),
+                    "\"news-" + current.version() + "-" + pageNumber + "-" + pageSize + "\"",
+                    current.lastModified());
+        }
+
+        NewsPageDto body = newsService.findNewsPage(pageNumber, pageSize);
+        if (body.getTotalElements() != current.total()) {
+            reload(current);
+        }
+        return new NewsFeedPage(body, "\"news-live-" + pageVersion(body) + "-" + pageNumber + "-" + pageSize + "\"", null);
+    }
+
+    // 크롤링 후 NewsScheduler 가 호출
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            snapshot = load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.loadedAt().plus(ttl).isAfter(Instant.now())) {
+            return current;
+        }
+        return reload(current);
+    }
+
+    // stale 스냅샷을 다시 읽음. 동시에 여러 요청이 와도 한 요청만 다시 읽고 나머지는 교체된 스냅샷을 사용
+    private Snapshot reload(Snapshot current) {
+        refreshLock.lock();
+        try {
+            if (snapshot == current) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<NewsPageDto> pages = new ArrayList<>(cachedPages);
+        NewsPageDto pageDto = null;
+        for (int i = 0; i < cachedPages; i++) {
+            pageDto = newsService.findNewsPage(i, defaultSize);
+            pages.add(pageDto);
+            if (!pageDto.isHasNext()) {
+                break;
+            }
+        }
+        long total = pageDto != null ? pageDto.getTotalElements() : 0;
+        LocalDateTime latest = newsService.findLatestCrawledAt();
+        Instant lastModified = latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant() : null;
+        String version = total + "-" + (lastModified != null ? lastModified.toEpochMilli() : 0);
+        log.debug("[NewsFeedCache] 피드 캐시 갱신: version={}, pages={}", version, pages.size());
+        return new Snapshot(List.copyOf(pages), total, version, lastModified, Instant.now());
+    }
+
+    // 뉴스는 수집 후 수정되지 않으므로 전체 건수 + 페이지의 뉴스 ID 목록이 같으면 응답도 같다
+    private static String pageVersion(NewsPageDto page) {
+        String ids = page.getContent().stream()
+                .map(news -> String.valueOf(news.getNewsId()))
+                .collect(Collectors.joining(","));
+        return page.getTotalElements() + "-" + ContentHash.sha256Hex(ids).substring(0, 16);
+    }
+
+    private record Snapshot(List<NewsPageDto> pages, long total, String version, Instant lastModified,
+                            Instant loadedAt) {
+    }
+
+    /** 응답 본문과 HTTP 검증자. lastModified 는 뉴스가 하나도 없으면 null. */
+    public record NewsFeedPage(NewsPageDto body, String etag, Instant lastModified) {
+    }
+}
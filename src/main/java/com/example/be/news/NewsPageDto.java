@@ -0,0 +1,16 @@
+package com.example.be.news;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class NewsPageDto {
+    private List<NewsDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private boolean hasNext;
+}
@@ -1,10 +1,25 @@
 package com.example.be.news;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface NewsRepository extends JpaRepository<NewsEntity, Integer> {
     // 기본적인 CRUD 기능 자동 제공됨
-    boolean existsByNewsUrl(String newsUrl);
+
+    // 크롤링 배치 단위 중복 판별 (url_hash 유니크 인덱스 IN 조회 1회)
+    @Query("select n.urlHash from NewsEntity n where n.urlHash in :urlHashes")
+    List<String> findExistingUrlHashes(@Param("urlHashes") Collection<String> urlHashes);
+
+    @Query("select max(n.crawledAt) from NewsEntity n")
+    LocalDateTime findLatestCrawledAt();
+
+    // url_hash 컬럼 추가 이전에 저장된 행 백필용
+    List<NewsEntity> findByUrlHashIsNull();
 }
@@ -1,7 +1,6 @@
 package com.example.be.news;
 
 import com.example.be.news.NewsDto;
-import com.example.be.news.KormediCrawler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,12 +14,24 @@ import java.util.List;
 public class NewsScheduler {
 
     private final NewsService newsService;
+    private final KormediCrawler kormediCrawler;
+    private final NewsFeedCache newsFeedCache;
+
     // 매 1시간마다 실행
     @Scheduled(fixedRate = 60 * 60 * 1000)
     public void crawlAndSaveNews() {
         log.info("[뉴스 스케줄러] 코메디 사이트에서 뉴스 크롤링 시작");
-        List<NewsDto> newsList = KormediCrawler.crawlFromRss();
+        List<NewsDto> newsList = kormediCrawler.crawlFromRss();
         log.info("크롤링된 뉴스 개수: {}", newsList.size());
-        newsService.saveNewsBatch(newsList);
+        try {
+            int saved = newsService.saveNewsBatch(newsList);
+            log.info("저장된 신규 뉴스 개수: {}", saved);
+        } catch (RuntimeException e) {
+            // 저장 실패 시 다음 회차에 304 로 건너뛰지 않도록 피드를 다시 받게 함
+            kormediCrawler.resetFeedValidators();
+            throw e;
+        }
+        // 다른 인스턴스가 저장한 뉴스도 반영되도록 신규 건수와 관계없이 갱신
+        newsFeedCache.refresh();
     }
 }
@@ -2,34 +2,86 @@ package com.example.be.news;
 
 import com.example.be.news.NewsDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class NewsService {
 
+    // 최신 수집순, 같은 시각이면 ID 역순 (페이지 경계가 흔들리지 않도록)
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "crawledAt")
+            .and(Sort.by(Sort.Direction.DESC, "newsId"));
+
     private final NewsRepository newsRepository;
 
-    public void saveNewsBatch(List<NewsDto> newsList) {
+    // 배치 전체를 한 트랜잭션에서 처리: url_hash IN 조회 1회 + saveAll (hibernate.jdbc.batch_size 단위 배치 insert)
+    @Transactional
+    public int saveNewsBatch(List<NewsDto> newsList) {
+        // 같은 배치 안의 중복 URL 도 한 번만 저장
+        Map<String, NewsDto> byHash = new LinkedHashMap<>();
         for (NewsDto dto : newsList) {
-            // 중복 제거를 위해 URL 기준으로 존재 여부 확인
-            boolean exists = newsRepository.existsByNewsUrl(dto.getNewsUrl());
-            if (!exists) {
-                NewsEntity entity = NewsEntity.builder()
-                        .title(dto.getTitle())
-                        .summary(dto.getSummary())
-                        .newsUrl(dto.getNewsUrl())
-                        .publishedAt(dto.getPublishedAt())
-                        .crawledAt(dto.getCrawledAt())
-                        .build();
-                newsRepository.save(entity);
+            if (dto.getNewsUrl() == null || dto.getNewsUrl().isBlank()) {
+                continue;
             }
+            byHash.putIfAbsent(NewsEntity.hashUrl(dto.getNewsUrl()), dto);
+        }
+        if (byHash.isEmpty()) {
+            return 0;
         }
+
+        Set<String> existing = new HashSet<>(newsRepository.findExistingUrlHashes(byHash.keySet()));
+        List<NewsEntity> entities = byHash.entrySet().stream()
+                .filter(entry -> !existing.contains(entry.getKey()))
+                .map(entry -> NewsEntity.builder()
+                        .title(entry.getValue().getTitle())
+                        .summary(entry.getValue().getSummary())
+                        .newsUrl(entry.getValue().getNewsUrl())
+                        .urlHash(entry.getKey())
+                        .publishedAt(entry.getValue().getPublishedAt())
+                        .crawledAt(entry.getValue().getCrawledAt())
+                        .build())
+                .toList();
+        newsRepository.saveAll(entities);
+        return entities.size();
+    }
+
+    @Transactional(readOnly = true)
+    public NewsPageDto findNewsPage(int page, int size) {
+        Page<NewsEntity> result = newsRepository.findAll(PageRequest.of(page, size, LATEST_FIRST));
+        return NewsPageDto.builder()
+                .content(result.getContent().stream().map(NewsService::toDto).toList())
+                .page(page)
+                .size(size)
+                .totalElements(result.getTotalElements())
+                .hasNext(result.hasNext())
+                .build();
+    }
+
+    // 피드 버전 판별용 (뉴스는 수집 후 수정되지 않으므로 건수 + 최신 수집 시각이 같으면 내용도 같다)
+    @Transactional(readOnly = true)
+    public LocalDateTime findLatestCrawledAt() {
+        return newsRepository.findLatestCrawledAt();
     }
-    public List<NewsEntity> findAllNews() {
-        return newsRepository.findAll(Sort.by(Sort.Direction.DESC, "crawledAt"));
+
+    private static NewsDto toDto(NewsEntity entity) {
+        return NewsDto.builder()
+                .newsId(entity.getNewsId())
+                .title(entity.getTitle())
+                .summary(entity.getSummary())
+                .newsUrl(entity.getNewsUrl())
+                .publishedAt(entity.getPublishedAt())
+                .crawledAt(entity.getCrawledAt())
+                .build();
     }
 }
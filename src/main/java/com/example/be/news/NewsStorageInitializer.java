@@ -0,0 +1,77 @@
+package com.example.be.news;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * url_hash 컬럼 / news_seq 도입 이전에 쌓인 news 테이블 정리 (기동 시 1회, 여러 번 실행해도 안전).
+ * 1. url_hash 가 비어 있는 행을 채우고, 같은 URL 이 중복 저장돼 있던 행은 먼저 저장된 것만 남긴다.
+ * 2. MySQL 은 시퀀스가 없어 Hibernate 가 news_seq 테이블로 대신하므로,
+ *    기존 AUTO_INCREMENT 로 발급된 news_id 와 겹치지 않도록 next_val 을 최대 ID 이후로 올린다.
+ * 첫 크롤링이 ID 블록을 받기 전에 끝나야 하므로 @Scheduled 작업이 등록되는 컨텍스트 refresh 완료 이전에 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NewsStorageInitializer implements SmartInitializingSingleton {
+
+    // NewsEntity 의 @SequenceGenerator allocationSize 와 동일해야 함
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final NewsRepository newsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer backfilled = transactionTemplate.execute(status -> backfillUrlHashes());
+        if (backfilled != null && backfilled > 0) {
+            log.info("[NewsStorage] url_hash 백필: {}건", backfilled);
+        }
+        alignIdSequence();
+    }
+
+    private int backfillUrlHashes() {
+        List<NewsEntity> missing = newsRepository.findByUrlHashIsNull();
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        Set<String> seen = new HashSet<>(newsRepository.findExistingUrlHashes(
+                missing.stream().map(news -> NewsEntity.hashUrl(news.getNewsUrl())).toList()));
+        for (NewsEntity news : missing.stream()
+                .sorted((a, b) -> a.getNewsId().compareTo(b.getNewsId()))
+                .toList()) {
+            String hash = NewsEntity.hashUrl(news.getNewsUrl());
+            if (!seen.add(hash)) {
+                newsRepository.delete(news);
+                continue;
+            }
+            news.setUrlHash(hash);
+        }
+        return missing.size();
+    }
+
+    private void alignIdSequence() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "update news_seq set next_val = (select coalesce(max(news_id), 0) + 1 + ? from news) "
+                            + "where next_val <= (select coalesce(max(news_id), 0) from news)",
+                    ALLOCATION_SIZE);
+            if (updated > 0) {
+                log.info("[NewsStorage] news_seq 를 기존 news_id 이후로 조정");
+            }
+        } catch (DataAccessException e) {
+            // 네이티브 시퀀스를 쓰는 DB(H2 등)에는 news_seq 테이블이 없음
+            log.debug("[NewsStorage] news_seq 테이블 조정 생략: {}", e.getMessage());
+        }
+    }
+}
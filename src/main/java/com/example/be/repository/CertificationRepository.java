@@ -3,10 +3,20 @@ package com.example.be.repository;
 import com.example.be.entity.Certification;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface CertificationRepository extends JpaRepository<Certification, String> {
     Optional<Certification> findByEmail(String email);
     @Transactional
     void deleteByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM certification c WHERE c.expiresAt IS NULL OR c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -2,6 +2,16 @@ package com.example.be.repository;
 
 import com.example.be.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
+
+    // 여러 진단 결과의 소견을 작성자와 함께 한 번의 쿼리로 조회 (N+1 방지)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.member " +
+            "WHERE c.diagnosisResult.resultId IN :resultIds ORDER BY c.commentId")
+    List<Comment> findAllWithMemberByResultIds(@Param("resultIds") Collection<Integer> resultIds);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.be.repository;
+
+import com.example.be.entity.DiagnosisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface DiagnosisJobRepository extends JpaRepository<DiagnosisJob, Integer> {
+    // 로그인 사용자 소유의 작업만 조회 (권한 체크용)
+    Optional<DiagnosisJob> findByJobIdAndMemberId(Integer jobId, Integer memberId);
+}
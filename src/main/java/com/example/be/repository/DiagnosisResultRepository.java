@@ -9,4 +9,7 @@ public interface DiagnosisResultRepository extends JpaRepository<DiagnosisResult
     Optional<DiagnosisResult> findByXrayImage(XrayImage xrayImage); //XrayImage 엔티티로 진단 결과를 찾
     //resultId와 XrayImage에 연결된 Member의 Id로 진단 결과를 찾는 메소드
     Optional<DiagnosisResult> findByResultIdAndXrayImage_Member_Id(Integer resultId, Integer memberId);
+    // 같은 환자의 같은 내용(SHA-256) X-ray에 대해 저장된 가장 최근 진단 결과 (중복 업로드 시 AI 재호출 생략용)
+    Optional<DiagnosisResult> findFirstByXrayImage_ContentHashAndXrayImage_Patient_PatientIdOrderByResultIdDesc(
+            String contentHash, Integer patientId);
 }
\ No newline at end of file
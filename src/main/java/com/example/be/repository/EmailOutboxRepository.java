@@ -0,0 +1,27 @@
+package com.example.be.repository;
+
+import com.example.be.entity.EmailOutbox;
+import com.example.be.entity.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // 발송 대상 선점: 다른 인스턴스가 잠근 행은 건너뜀 (lock.timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM EmailOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+            "ORDER BY o.nextAttemptAt")
+    List<EmailOutbox> findDueForUpdate(@Param("status") EmailOutboxStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+}
@@ -2,9 +2,20 @@ package com.example.be.repository;
 
 import com.example.be.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
-public interface MemberRepository extends JpaRepository<Member, Long> {
+public interface MemberRepository extends JpaRepository<Member, Integer> {
     Optional<Member> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 로그인 시 재해시: 그 사이 비밀번호가 바뀌었으면 덮어쓰지 않음
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Member m SET m.password = :newHash WHERE m.id = :id AND m.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Integer id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -1,12 +1,13 @@
 package com.example.be.repository;
 
 import com.example.be.entity.Patient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,18 +28,41 @@ public interface PatientRepository extends JpaRepository<Patient, Integer> {
     // patientCode로 환자를 찾는 메소드 추가
     Optional<Patient> findByPatientCode(String patientCode);
 
-    // 검색 조건이 모두 일치하는 환자를 찾는 메소드
-    // 이름, 생년월일, 성별로 동적 검색
-    @Query("SELECT p FROM Patient p WHERE " +
-            "(:name IS NULL OR p.name LIKE %:name%) AND " +
-            "(:birthDate IS NULL OR p.birthDate = :birthDate) AND " +
-            "(:gender IS NULL OR p.gender = :gender)")
-//    List<Patient> findByCriteria(
-//            @Param("name") String name,
-//            @Param("birthDate") LocalDate birthDate,
-//            @Param("gender") String gender
-//    );
-    List<Patient> findByNameAndBirthDateAndGender(String name, LocalDate birthDate, String gender);
+    // 검색 색인 재구성용 전체 조회 (patient_id keyset 배치)
+    @Query("SELECT p FROM Patient p WHERE p.patientId > :afterId ORDER BY p.patientId")
+    List<Patient> findSearchIndexBatch(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // === 로그인 사용자 환자 목록 keyset 페이지 조회 ===
+    // (member_id, patient_id) 인덱스를 범위 스캔하므로 테이블 전체를 읽지 않음
+    @Query("SELECT p FROM Patient p WHERE p.member.id = :memberId ORDER BY p.patientId DESC")
+    List<Patient> findFirstPageByMember(@Param("memberId") Integer memberId, Pageable pageable);
+
+    @Query("SELECT p FROM Patient p WHERE p.member.id = :memberId AND p.patientId < :cursorId " +
+            "ORDER BY p.patientId DESC")
+    List<Patient> findPageByMemberAfter(@Param("memberId") Integer memberId,
+                                        @Param("cursorId") Integer cursorId,
+                                        Pageable pageable);
+
+    // (member_id, last_analysis_at, patient_id) 인덱스 사용, DESC 정렬 시 분석 이력 없는(NULL) 환자는 마지막
+    @Query("SELECT p FROM Patient p WHERE p.member.id = :memberId " +
+            "ORDER BY p.lastAnalysisAt DESC, p.patientId DESC")
+    List<Patient> findFirstPageByMemberOrderByLastAnalysis(@Param("memberId") Integer memberId, Pageable pageable);
+
+    @Query("SELECT p FROM Patient p WHERE p.member.id = :memberId AND (" +
+            "p.lastAnalysisAt < :lastAnalysisAt " +
+            "OR (p.lastAnalysisAt = :lastAnalysisAt AND p.patientId < :cursorId) " +
+            "OR p.lastAnalysisAt IS NULL) " +
+            "ORDER BY p.lastAnalysisAt DESC, p.patientId DESC")
+    List<Patient> findPageByMemberOrderByLastAnalysisAfter(@Param("memberId") Integer memberId,
+                                                           @Param("lastAnalysisAt") LocalDateTime lastAnalysisAt,
+                                                           @Param("cursorId") Integer cursorId,
+                                                           Pageable pageable);
+
+    @Query("SELECT p FROM Patient p WHERE p.member.id = :memberId AND p.lastAnalysisAt IS NULL " +
+            "AND p.patientId < :cursorId ORDER BY p.patientId DESC")
+    List<Patient> findNeverAnalyzedPageByMemberAfter(@Param("memberId") Integer memberId,
+                                                     @Param("cursorId") Integer cursorId,
+                                                     Pageable pageable);
 
 
 
@@ -2,11 +2,19 @@ package com.example.be.repository;
 
 import com.example.be.entity.XrayImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface XrayImageRepository extends JpaRepository<XrayImage, Integer> {
     // 특정 환자 ID에 속한 모든 X-ray 이미지를 조회하는 메소드
     List<XrayImage> findAllByPatient_PatientId(Integer patientId);
+
+    // 여러 환자의 X-ray와 진단 결과를 한 번의 쿼리로 조회 (N+1 방지)
+    @Query("SELECT x FROM XrayImage x LEFT JOIN FETCH x.diagnosisResult " +
+            "WHERE x.patient.patientId IN :patientIds ORDER BY x.imageId")
+    List<XrayImage> findAllWithResultByPatientIds(@Param("patientIds") Collection<Integer> patientIds);
 }
 
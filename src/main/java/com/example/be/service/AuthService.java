@@ -7,8 +7,9 @@ import org.springframework.http.ResponseEntity;
 public interface AuthService {
 
     ResponseEntity<? super EmailCheckResponseDto> emailCheck(EmailCheckRequestDto emailCheckRequestDto);
-    ResponseEntity<? super EmailCertificationResponseDto> emailCertification(EmailCertificationRequestDto emailCertificationRequestDto);
+    ResponseEntity<? super EmailCertificationResponseDto> emailCertification(EmailCertificationRequestDto emailCertificationRequestDto, String clientIp);
     ResponseEntity<? super CertificationCheckResponseDto> certificationCheck(CertificationCheckRequestDto certificationCheckRequestDto);
     ResponseEntity<? super SignUpResponseDto> signUp(SignUpRequestDto signUpRequestDto);
-    ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto signInRequestDto);
+    ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto signInRequestDto, String clientIp);
+    ResponseEntity<? super RefreshTokenResponseDto> refresh(RefreshTokenRequestDto refreshTokenRequestDto);
 }
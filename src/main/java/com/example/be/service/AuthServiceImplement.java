@@ -1,30 +1,41 @@
 package com.example.be.service;
 
+import com.example.be.certification.CertificationRateLimiter;
+import com.example.be.certification.CertificationStore;
 import com.example.be.common.CertificationNumber; // CertificationNumber 임포트 추가
 import com.example.be.dto.ResponseDto;
 import com.example.be.dto.request.*;
 import com.example.be.dto.response.*;
-import com.example.be.entity.Certification;
 import com.example.be.entity.Member;
 import com.example.be.jwt.EmailProvider;
 import com.example.be.jwt.JwtProvider;
-import com.example.be.repository.CertificationRepository;
 import com.example.be.repository.MemberRepository;
 import lombok.RequiredArgsConstructor; // 생성자 자동 생성을 위해 추가
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor // final 필드에 대한 생성자를 자동으로 만들어줍니다.
 public class AuthServiceImplement implements AuthService {
 
     private final MemberRepository memberRepository;
     private final EmailProvider emailProvider;
-    private final CertificationRepository certificationRepository;
+    private final CertificationStore certificationStore;
+    private final CertificationRateLimiter certificationRateLimiter;
     private final JwtProvider jwtProvider;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+
+    @Qualifier("passwordRehashWriter")
+    private final TaskExecutor rehashWriter;
 
     // @RequiredArgsConstructor 어노테이션이 아래 생성자 코드를 대체합니다.
     /*
@@ -52,22 +63,24 @@ public class AuthServiceImplement implements AuthService {
 
 
     @Override
-    public ResponseEntity<? super EmailCertificationResponseDto> emailCertification(EmailCertificationRequestDto dto) {
+    public ResponseEntity<? super EmailCertificationResponseDto> emailCertification(EmailCertificationRequestDto dto, String clientIp) {
         try {
             String email = dto.getEmail();
+            // DB 조회 / 메일 발송 전에 이메일·IP별 발급 횟수부터 확인
+            if (!certificationRateLimiter.tryAcquire(email, clientIp)) {
+                return EmailCertificationResponseDto.tooManyRequests(certificationRateLimiter.windowSeconds());
+            }
             if (memberRepository.existsByEmail(email)) {
                 return EmailCertificationResponseDto.duplicateEmail();
             }
 
             String certificationNumber = CertificationNumber.getCertificationNumber();
 
-            boolean isSucceed = emailProvider.sendCertificationEmail(email, certificationNumber);
-            if (!isSucceed) {
-                return EmailCertificationResponseDto.mailSendFail();
-            }
-
-            Certification certification = new Certification(email, certificationNumber);
-            certificationRepository.save(certification);
+            // 인증번호와 발송할 메일(outbox)을 한 트랜잭션으로 저장하고 바로 응답. SMTP 발송은 커밋 후 비동기로 진행
+            transactionTemplate.executeWithoutResult(status -> {
+                certificationStore.save(email, certificationNumber);
+                emailProvider.enqueueCertificationEmail(email, certificationNumber);
+            });
 
         } catch (Exception exception) {
             exception.printStackTrace();
@@ -82,16 +95,15 @@ public class AuthServiceImplement implements AuthService {
             String email = dto.getEmail();
             String certificationNumber = dto.getCertificationNumber();
 
-            Certification certification = certificationRepository.findByEmail(email).orElse(null);
+            String storedNumber = certificationStore.find(email).orElse(null);
 
-            // 1. null 체크를 먼저 수행
-            if (certification == null) {
+            // 1. null 체크를 먼저 수행 (발급 이력이 없거나 만료됨)
+            if (storedNumber == null) {
                 return CertificationCheckResponseDto.certificationFail();
             }
 
             // 2. 인증번호 일치 여부 확인
-            boolean isMatched = certification.getEmail().equals(email) &&
-                    certification.getCertificationNumber().equals(certificationNumber);
+            boolean isMatched = storedNumber.equals(certificationNumber);
 
             if (!isMatched) {
                 return CertificationCheckResponseDto.certificationFail();
@@ -114,20 +126,22 @@ public class AuthServiceImplement implements AuthService {
             }
 
             String certificationNumber = dto.getCertificationNumber();
-            Certification certification = certificationRepository.findByEmail(email).orElse(null);
+            String storedNumber = certificationStore.find(email).orElse(null);
 
-            if (certification == null || !certification.getCertificationNumber().equals(certificationNumber)) {
+            if (storedNumber == null || !storedNumber.equals(certificationNumber)) {
                 return SignUpResponseDto.certificationFail();
             }
 
-            String encodedPassword = passwordEncoder.encode(dto.getPassword());
+            String encodedPassword = passwordHashingService.encode(dto.getPassword());
             dto.setPassword(encodedPassword);
 
             Member member = new Member(dto);
             memberRepository.save(member);
 
-            certificationRepository.deleteByEmail(email);
+            certificationStore.remove(email);
 
+        } catch (ResponseStatusException exception) {
+            return ResponseDto.serverBusy();
         } catch (Exception exception) {
             exception.printStackTrace();
             return ResponseDto.databaseError();
@@ -136,34 +150,96 @@ public class AuthServiceImplement implements AuthService {
     }
 
     @Override
-    public ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto) {
+    public ResponseEntity<? super SignInResponseDto> signIn(SignInRequestDto dto, String clientIp) {
         String accessToken;
+        String refreshToken;
         Integer memberId;
         String nickname;
         try {
             String email = dto.getEmail();
+            // 실패 한도를 넘은 계정/IP 는 DB 조회·BCrypt 전에 거절
+            if (loginThrottle.isBlocked(email, clientIp)) {
+                return SignInResponseDto.tooManyRequests(loginThrottle.windowSeconds());
+            }
+
             Member member = memberRepository.findByEmail(email).orElse(null);
 
             if (member == null) {
+                loginThrottle.recordFailure(email, clientIp);
                 return SignInResponseDto.signInFail();
             }
 
             String password = dto.getPassword();
             String encodedPassword = member.getPassword();
 
-            boolean isMatched = passwordEncoder.matches(password, encodedPassword);
+            // 전용 해시 실행기에서 검증 (과부하면 ResponseStatusException → 503)
+            boolean isMatched = passwordHashingService.matches(password, encodedPassword);
             if (!isMatched) {
+                loginThrottle.recordFailure(email, clientIp);
                 return SignInResponseDto.signInFail();
             }
+            loginThrottle.recordSuccess(email);
+
+            if (passwordHashingService.needsRehash(encodedPassword)) {
+                rehashInBackground(member.getId(), password, encodedPassword);
+            }
 
             memberId = member.getId();
             nickname = member.getNickname();
-            accessToken = jwtProvider.create(email);
+            accessToken = jwtProvider.create(memberId, member.getEmail());
+            refreshToken = refreshTokenService.issue(memberId);
 
+        } catch (ResponseStatusException exception) {
+            return ResponseDto.serverBusy();
         } catch (Exception exception) {
             exception.printStackTrace();
             return ResponseDto.databaseError();
         }
-        return SignInResponseDto.success(accessToken, memberId, nickname);
+        return SignInResponseDto.success(accessToken, jwtProvider.accessTokenTtlSeconds(),
+                refreshToken, refreshTokenService.ttlSeconds(), memberId, nickname);
+    }
+
+    @Override
+    public ResponseEntity<? super RefreshTokenResponseDto> refresh(RefreshTokenRequestDto dto) {
+        String accessToken;
+        String refreshToken;
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(dto.getRefreshToken()).orElse(null);
+            if (rotation == null) {
+                return RefreshTokenResponseDto.refreshFail();
+            }
+
+            // 액세스 토큰 클레임(이메일)을 최신 값으로 채우고, 탈퇴한 회원이면 남은 토큰도 정리
+            Member member = memberRepository.findById(rotation.memberId()).orElse(null);
+            if (member == null) {
+                refreshTokenService.revokeAll(rotation.memberId());
+                return RefreshTokenResponseDto.refreshFail();
+            }
+
+            accessToken = jwtProvider.create(member.getId(), member.getEmail());
+            refreshToken = rotation.refreshToken();
+
+        } catch (Exception exception) {
+            log.error("[AuthService] 토큰 재발급 실패", exception);
+            return ResponseDto.databaseError();
+        }
+        return RefreshTokenResponseDto.success(accessToken, jwtProvider.accessTokenTtlSeconds(),
+                refreshToken, refreshTokenService.ttlSeconds());
+    }
+
+    // 저장된 해시의 cost 가 현재 설정보다 낮으면 응답과 별개로 새 cost 로 다시 저장. 실패해도 다음 로그인에서 재시도된다.
+    private void rehashInBackground(Integer memberId, String rawPassword, String oldHash) {
+        try {
+            passwordHashingService.encodeAsync(rawPassword)
+                    .thenAcceptAsync(newHash -> memberRepository.updatePasswordIfUnchanged(memberId, oldHash, newHash),
+                            rehashWriter)
+                    .exceptionally(throwable -> {
+                        log.warn("[AuthService] 비밀번호 재해시 실패 (memberId={}): {}", memberId, throwable.getMessage());
+                        return null;
+                    });
+        } catch (ResponseStatusException exception) {
+            // 해시 실행기가 바쁘면 이번에는 건너뜀
+            log.debug("[AuthService] 해시 실행기 포화로 재해시 생략 (memberId={})", memberId);
+        }
     }
-}
\ No newline at end of file
+}
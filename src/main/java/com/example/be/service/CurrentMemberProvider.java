@@ -0,0 +1,48 @@
+package com.example.be.service;
+
+import com.example.be.entity.Member;
+import com.example.be.jwt.AuthenticatedMember;
+import com.example.be.repository.MemberRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 현재 로그인한 회원 조회.
+ * JwtAuthenticationFilter 가 액세스 토큰 클레임으로 확인한 회원을 request attribute 로 넘겨주고,
+ * 요청 밖(비동기 작업 등)에서는 SecurityContext 의 details 에서 꺼낸다.
+ * 반환하는 Member 는 ID 만 채워진 참조(프록시)이므로 DB 조회 없이 연관관계 지정과 ID 비교에 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentMemberProvider {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentMemberProvider.class.getName() + ".MEMBER";
+
+    private final MemberRepository memberRepository;
+
+    public void bind(HttpServletRequest request, AuthenticatedMember member) {
+        request.setAttribute(REQUEST_ATTRIBUTE, member);
+    }
+
+    public Member get() {
+        return memberRepository.getReferenceById(getAuthenticatedMember().memberId());
+    }
+
+    public AuthenticatedMember getAuthenticatedMember() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AuthenticatedMember member) {
+            return member;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof AuthenticatedMember member) {
+            return member;
+        }
+        throw new IllegalArgumentException("로그인한 사용자 정보를 찾을 수 없습니다.");
+    }
+}
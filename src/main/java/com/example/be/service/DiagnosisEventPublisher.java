@@ -0,0 +1,91 @@
+package com.example.be.service;
+
+import com.example.be.dto.DiagnosisJobDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 회원별 진단 작업 상태 SSE 채널.
+ * SseEmitter 는 서블릿 비동기 요청이라 연결을 유지하는 동안 요청 스레드를 점유하지 않는다.
+ * 이벤트: uploaded → inferring → completed | failed (data: DiagnosisJobDto)
+ * 프록시 유휴 타임아웃으로 끊기지 않도록 heartbeat-ms 마다 주석 이벤트를 보낸다.
+ */
+@Slf4j
+@Component
+public class DiagnosisEventPublisher {
+
+    private final Map<Integer, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public DiagnosisEventPublisher(@Value("${diagnosis.stream.timeout-ms:1800000}") long timeoutMillis,
+                                   MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("diagnosis.stream.connections", emitters,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("열려 있는 진단 SSE 연결 수")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Integer memberId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(memberId, (id, memberEmitters) -> {
+            Set<SseEmitter> set = memberEmitters != null ? memberEmitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(memberId, emitter));
+        emitter.onTimeout(() -> remove(memberId, emitter));
+        emitter.onError(error -> remove(memberId, emitter));
+        // 응답 헤더를 바로 내려보내 클라이언트/프록시가 스트림 연결을 확인할 수 있도록 함
+        send(memberId, emitter, () -> SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public void publish(Integer memberId, String eventName, DiagnosisJobDto job) {
+        Set<SseEmitter> memberEmitters = emitters.get(memberId);
+        if (memberEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : memberEmitters) {
+            send(memberId, emitter, () -> SseEmitter.event()
+                    .id(job.getJobId() + ":" + eventName)
+                    .name(eventName)
+                    .data(job, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${diagnosis.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((memberId, memberEmitters) ->
+                memberEmitters.forEach(emitter -> send(memberId, emitter, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    // SseEventBuilder 는 build 시 내부 버퍼가 바뀌므로 연결마다 새로 만든다
+    private void send(Integer memberId, SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            emitter.send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            log.debug("[DiagnosisStream] 회원 {} 연결 종료: {}", memberId, e.getMessage());
+            remove(memberId, emitter);
+        }
+    }
+
+    private void remove(Integer memberId, SseEmitter emitter) {
+        emitters.computeIfPresent(memberId, (id, memberEmitters) -> {
+            memberEmitters.remove(emitter);
+            return memberEmitters.isEmpty() ? null : memberEmitters;
+        });
+    }
+}
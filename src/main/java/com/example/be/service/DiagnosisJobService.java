@@ -0,0 +1,479 @@
+package com.example.be.service;
+
+import com.example.be.dto.BulkDiagnosisItemDto;
+import com.example.be.dto.DiagnosisJobDto;
+import com.example.be.dto.DiagnosisResultDto;
+import com.example.be.dto.PatientDto;
+import com.example.be.dto.response.AiResponseDto;
+import com.example.be.entity.*;
+import com.example.be.repository.*;
+import com.example.be.service.ai.AiBatchingClient;
+import com.example.be.service.ai.AiInferenceBulkhead;
+import com.example.be.storage.ContentHash;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 작업(job) 기반 진단 처리.
+ * 요청 스레드에서는 X-ray 메타와 PENDING 작업만 짧은 트랜잭션으로 저장하고,
+ * 업로드와 AI 서버 호출은 트랜잭션 밖의 워커 풀에서 수행해 DB 커넥션을 오래 잡지 않는다.
+ */
+@Slf4j
+@Service
+public class DiagnosisJobService {
+
+    private final DiagnosisService diagnosisService;
+    private final FirebaseService firebaseService;
+    private final AiBatchingClient aiClient;
+    private final CurrentMemberProvider currentMemberProvider;
+    private final PatientRepository patientRepository;
+    private final XrayImageRepository xrayImageRepository;
+    private final DiagnosisResultRepository diagnosisResultRepository;
+    private final DiagnosisJobRepository diagnosisJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor diagnosisExecutor;
+    private final XrayDeduplicator xrayDeduplicator;
+    private final AiInferenceBulkhead aiInferenceBulkhead;
+    private final DiagnosisEventPublisher diagnosisEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int bulkMaxFiles;
+    private final int bulkMaxParallel;
+    private final long bulkTimeoutMillis;
+
+    public DiagnosisJobService(DiagnosisService diagnosisService,
+                               FirebaseService firebaseService,
+                               AiBatchingClient aiClient,
+                               CurrentMemberProvider currentMemberProvider,
+                               PatientRepository patientRepository,
+                               XrayImageRepository xrayImageRepository,
+                               DiagnosisResultRepository diagnosisResultRepository,
+                               DiagnosisJobRepository diagnosisJobRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("diagnosisExecutor") TaskExecutor diagnosisExecutor,
+                               XrayDeduplicator xrayDeduplicator,
+                               AiInferenceBulkhead aiInferenceBulkhead,
+                               DiagnosisEventPublisher diagnosisEventPublisher,
+                               ObjectMapper objectMapper,
+                               @Value("${diagnosis.bulk.max-files:20}") int bulkMaxFiles,
+                               @Value("${diagnosis.bulk.max-parallel:4}") int bulkMaxParallel,
+                               @Value("${diagnosis.bulk.timeout-ms:600000}") long bulkTimeoutMillis) {
+        this.diagnosisService = diagnosisService;
+        this.firebaseService = firebaseService;
+        this.aiClient = aiClient;
+        this.currentMemberProvider = currentMemberProvider;
+        this.patientRepository = patientRepository;
+        this.xrayImageRepository = xrayImageRepository;
+        this.diagnosisResultRepository = diagnosisResultRepository;
+        this.diagnosisJobRepository = diagnosisJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.diagnosisExecutor = diagnosisExecutor;
+        this.xrayDeduplicator = xrayDeduplicator;
+        this.aiInferenceBulkhead = aiInferenceBulkhead;
+        this.diagnosisEventPublisher = diagnosisEventPublisher;
+        this.objectMapper = objectMapper;
+        this.bulkMaxFiles = bulkMaxFiles;
+        this.bulkMaxParallel = bulkMaxParallel;
+        this.bulkTimeoutMillis = bulkTimeoutMillis;
+    }
+
+    // 신규 환자 등록 + 진단 작업 등록
+    public DiagnosisJobDto submitForNewPatient(PatientDto patientDto, MultipartFile xrayFile) throws IOException {
+        Member member = getCurrentMember();
+        SpooledUpload upload = spool(xrayFile);
+        DiagnosisJob job = createJob(upload, () -> diagnosisService.registerNewPatient(patientDto, member), member);
+        dispatch(job, upload);
+        return DiagnosisJobDto.fromEntity(job);
+    }
+
+    // 기존 환자 진단 작업 등록
+    public DiagnosisJobDto submitForExistingPatient(Integer patientId, MultipartFile xrayFile) throws IOException {
+        Member member = getCurrentMember();
+        SpooledUpload upload = spool(xrayFile);
+        DiagnosisJob job = createJob(upload, () -> findOwnedPatient(patientId, member), member);
+        dispatch(job, upload);
+        return DiagnosisJobDto.fromEntity(job);
+    }
+
+    // 기존 환자 다중 이미지 진단: 이미지마다 작업을 만들어 최대 max-parallel 개씩 동시에 처리하고,
+    // 끝나는 순서대로 이미지별 결과를 NDJSON 으로 내려보낸다. 일부 실패해도 나머지는 계속 처리한다.
+    public ResponseBodyEmitter submitBulkForExistingPatient(Integer patientId, List<MultipartFile> xrayFiles) throws IOException {
+        if (xrayFiles == null || xrayFiles.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 X-ray 파일이 없습니다.");
+        }
+        if (xrayFiles.size() > bulkMaxFiles) {
+            throw new IllegalArgumentException("한 번에 업로드할 수 있는 X-ray 파일은 최대 " + bulkMaxFiles + "개입니다.");
+        }
+        Member member = getCurrentMember();
+        findOwnedPatient(patientId, member); // 파일을 옮기기 전에 권한부터 확인
+
+        // 요청이 끝나면 multipart 임시 파일이 지워지므로 응답을 스트리밍하기 전에 모두 옮겨 둔다
+        List<SpooledUpload> uploads = new ArrayList<>(xrayFiles.size());
+        try {
+            for (MultipartFile xrayFile : xrayFiles) {
+                uploads.add(spool(xrayFile));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (SpooledUpload upload : uploads) {
+                Files.deleteIfExists(upload.file());
+            }
+            throw e;
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkTimeoutMillis);
+        new BulkRun(patientId, member, uploads, emitter).start();
+        return emitter;
+    }
+
+    // 작업 상태 조회 (완료 시 진단 결과 포함)
+    public DiagnosisJobDto getJob(Integer jobId) {
+        Member member = getCurrentMember();
+        return transactionTemplate.execute(status -> {
+            DiagnosisJob job = diagnosisJobRepository.findByJobIdAndMemberId(jobId, member.getId())
+                    .orElseThrow(() -> new SecurityException("조회 권한이 없거나 존재하지 않는 진단 작업입니다."));
+            return toDtoWithResult(job);
+        });
+    }
+
+    // 로그인한 회원의 진단 작업 상태 스트림 (SSE)
+    public SseEmitter openStream() {
+        return diagnosisEventPublisher.subscribe(getCurrentMember().getId());
+    }
+
+    // 로그인한 회원의 환자만 허용
+    private Patient findOwnedPatient(Integer patientId, Member member) {
+        return patientRepository.findByPatientIdAndMember_Id(patientId, member.getId())
+                .orElseThrow(() -> new SecurityException("권한이 없거나 존재하지 않는 환자입니다."));
+    }
+
+    // 1차 짧은 트랜잭션: 환자(필요 시) + X-ray 메타 + PENDING 작업 저장
+    // 같은 내용의 X-ray 결과가 이미 있으면 업로드/AI 호출 없이 바로 COMPLETED로 저장
+    private DiagnosisJob createJob(SpooledUpload upload, Supplier<Patient> patientSupplier, Member member) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> {
+                Patient patient = patientSupplier.get();
+                DiagnosisResult reusable = xrayDeduplicator.findReusableResult(upload.contentHash(), patient).orElse(null);
+
+                XrayImage xrayImage = xrayImageRepository.save(XrayImage.builder()
+                        .patient(patient)
+                        .member(member)
+                        .imageUrl(reusable != null ? reusable.getXrayImage().getImageUrl() : "") // 업로드 완료 후 워커에서 채움
+                        .fileName(upload.originalFileName())
+                        .fileSize((int) upload.size())
+                        .contentHash(upload.contentHash())
+                        .build());
+                DiagnosisJob job = DiagnosisJob.builder()
+                        .memberId(member.getId())
+                        .patientId(patient.getPatientId())
+                        .imageId(xrayImage.getImageId())
+                        .status(DiagnosisJobStatus.PENDING)
+                        .build();
+                if (reusable != null) {
+                    DiagnosisResult savedResult = diagnosisResultRepository.save(reusable.copyFor(xrayImage));
+                    patient.recordAnalysis(LocalDateTime.now());
+                    job.complete(savedResult.getResultId());
+                }
+                return diagnosisJobRepository.save(job);
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(upload.file());
+            throw e;
+        }
+    }
+
+    private void dispatch(DiagnosisJob job, SpooledUpload upload) throws IOException {
+        if (job.getStatus() == DiagnosisJobStatus.COMPLETED) {
+            Files.deleteIfExists(upload.file());
+            publish("completed", job.getJobId());
+            return;
+        }
+        try {
+            aiInferenceBulkhead.checkAdmission(); // AI 서버 과부하면 작업을 쌓지 않고 바로 거절
+        } catch (ResponseStatusException e) {
+            Files.deleteIfExists(upload.file());
+            markFailed(job.getJobId(), e.getReason());
+            throw e;
+        }
+        try {
+            diagnosisExecutor.execute(() -> runJob(job.getJobId(), upload));
+        } catch (TaskRejectedException e) {
+            Files.deleteIfExists(upload.file());
+            markFailed(job.getJobId(), "진단 작업 대기열이 가득 찼습니다.");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "진단 작업 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // 워커 스레드: 업로드는 트랜잭션 밖에서 수행하고, AI 호출은 비동기로 넘긴 뒤 워커를 바로 반환
+    // 반환값은 작업이 COMPLETED/FAILED 로 저장되면 완료된다.
+    private CompletableFuture<Void> runJob(Integer jobId, SpooledUpload upload) {
+        String imageUrl;
+        try {
+            imageUrl = firebaseService.uploadFile(upload.file(), upload.originalFileName(),
+                    upload.contentType(), "xray-images", upload.contentHash());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                DiagnosisJob job = findJob(jobId);
+                XrayImage xrayImage = xrayImageRepository.findById(job.getImageId())
+                        .orElseThrow(() -> new IllegalStateException("X-ray 이미지가 삭제되었습니다. ID: " + job.getImageId()));
+                xrayImage.setImageUrl(imageUrl);
+                job.startInference();
+            });
+            publish("uploaded", jobId);
+            publish("inferring", jobId);
+        } catch (Exception e) {
+            log.error("[DiagnosisJob] 작업 {} 처리 실패", jobId, e);
+            markFailed(jobId, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        } finally {
+            try {
+                Files.deleteIfExists(upload.file());
+            } catch (IOException e) {
+                log.warn("[DiagnosisJob] 임시 파일 삭제 실패 ({}): {}", upload.file(), e.getMessage());
+            }
+        }
+
+        // 추론 응답은 HTTP 클라이언트 I/O 스레드에서 오므로 결과 저장은 다시 워커 풀에서 수행
+        return aiClient.predictAsync(imageUrl)
+                .<Void>handleAsync((aiResponse, error) -> {
+                    completeJob(jobId, aiResponse, error);
+                    return null;
+                }, diagnosisExecutor)
+                .exceptionally(e -> {
+                    // 워커 풀 포화로 결과 저장 작업을 예약하지 못한 경우
+                    log.error("[DiagnosisJob] 작업 {} 결과 저장 예약 실패", jobId, e);
+                    markFailed(jobId, "진단 결과 저장 작업을 예약하지 못했습니다.");
+                    return null;
+                });
+    }
+
+    // 2차 짧은 트랜잭션: 진단 결과 저장
+    private void completeJob(Integer jobId, AiResponseDto aiResponse, Throwable error) {
+        try {
+            if (error != null) {
+                throw error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            }
+            if (aiResponse == null) {
+                throw new IllegalStateException("AI 서버 응답이 비어있습니다.");
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                DiagnosisJob job = findJob(jobId);
+                XrayImage xrayImage = xrayImageRepository.findById(job.getImageId())
+                        .orElseThrow(() -> new IllegalStateException("X-ray 이미지가 삭제되었습니다. ID: " + job.getImageId()));
+                DiagnosisResult savedResult = diagnosisResultRepository.save(
+                        DiagnosisService.toDiagnosisResult(xrayImage, aiResponse));
+                patientRepository.findById(job.getPatientId())
+                        .ifPresent(patient -> patient.recordAnalysis(LocalDateTime.now()));
+                job.complete(savedResult.getResultId());
+            });
+            publish("completed", jobId);
+        } catch (Throwable e) {
+            log.error("[DiagnosisJob] 작업 {} 처리 실패", jobId, e);
+            markFailed(jobId, e.getMessage());
+        }
+    }
+
+    private void markFailed(Integer jobId, String errorMessage) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> findJob(jobId).fail(errorMessage));
+        } catch (Exception e) {
+            log.error("[DiagnosisJob] 작업 {} 실패 상태 저장 실패", jobId, e);
+            return;
+        }
+        publish("failed", jobId);
+    }
+
+    // 커밋된 상태를 다시 읽어 SSE 구독자에게 전달 (완료 시 진단 결과 포함)
+    private void publish(String eventName, Integer jobId) {
+        try {
+            Map.Entry<Integer, DiagnosisJobDto> event = transactionTemplate.execute(status -> {
+                DiagnosisJob job = findJob(jobId);
+                return Map.entry(job.getMemberId(), toDtoWithResult(job));
+            });
+            diagnosisEventPublisher.publish(event.getKey(), eventName, event.getValue());
+        } catch (Exception e) {
+            log.warn("[DiagnosisJob] 작업 {} {} 이벤트 전송 실패: {}", jobId, eventName, e.getMessage());
+        }
+    }
+
+    private DiagnosisJobDto toDtoWithResult(DiagnosisJob job) {
+        DiagnosisJobDto dto = DiagnosisJobDto.fromEntity(job);
+        if (job.getResultId() != null) {
+            diagnosisResultRepository.findById(job.getResultId())
+                    .ifPresent(result -> dto.setDiagnosisResult(DiagnosisResultDto.fromEntity(result)));
+        }
+        return dto;
+    }
+
+    private DiagnosisJob findJob(Integer jobId) {
+        return diagnosisJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("진단 작업을 찾을 수 없습니다. ID: " + jobId));
+    }
+
+    // 요청이 끝나면 multipart 임시 파일이 지워지므로 워커가 읽을 수 있도록 별도 파일로 옮기면서 SHA-256 계산
+    private SpooledUpload spool(MultipartFile xrayFile) throws IOException {
+        Path spoolFile = Files.createTempFile("xray-job-", ".upload");
+        try (InputStream in = xrayFile.getInputStream();
+             OutputStream out = Files.newOutputStream(spoolFile)) {
+            String contentHash = ContentHash.copyAndHash(in, out);
+            return new SpooledUpload(spoolFile, contentHash, xrayFile.getOriginalFilename(),
+                    xrayFile.getContentType(), xrayFile.getSize());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+    }
+
+    private record SpooledUpload(Path file, String contentHash, String originalFileName, String contentType, long size) {
+    }
+
+    // 다중 이미지 진단 한 건의 진행 상태. 동시에 도는 이미지 수를 bulkMaxParallel 로 제한한다.
+    private final class BulkRun {
+
+        private final Integer patientId;
+        private final Member member;
+        private final List<SpooledUpload> uploads;
+        private final ResponseBodyEmitter emitter;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger finished = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private volatile boolean clientGone;
+
+        private BulkRun(Integer patientId, Member member, List<SpooledUpload> uploads, ResponseBodyEmitter emitter) {
+            this.patientId = patientId;
+            this.member = member;
+            this.uploads = uploads;
+            this.emitter = emitter;
+        }
+
+        private void start() {
+            for (int i = 0; i < Math.min(bulkMaxParallel, uploads.size()); i++) {
+                launchNext();
+            }
+        }
+
+        private void launchNext() {
+            int index = nextIndex.getAndIncrement();
+            if (index >= uploads.size()) {
+                return;
+            }
+            try {
+                diagnosisExecutor.execute(() -> process(index));
+            } catch (TaskRejectedException e) {
+                deleteQuietly(uploads.get(index));
+                finish(index, null, "진단 작업 대기열이 가득 찼습니다.");
+            }
+        }
+
+        private void process(int index) {
+            SpooledUpload upload = uploads.get(index);
+            DiagnosisJob job;
+            try {
+                job = createJob(upload, () -> findOwnedPatient(patientId, member), member);
+            } catch (Exception e) {
+                finish(index, null, e.getMessage());
+                return;
+            }
+            Integer jobId = job.getJobId();
+            if (job.getStatus() == DiagnosisJobStatus.COMPLETED) {
+                deleteQuietly(upload);
+                publish("completed", jobId);
+                finish(index, jobId, null);
+                return;
+            }
+            try {
+                aiInferenceBulkhead.checkAdmission();
+            } catch (ResponseStatusException e) {
+                deleteQuietly(upload);
+                markFailed(jobId, e.getReason());
+                finish(index, jobId, null);
+                return;
+            }
+            runJob(jobId, upload).whenComplete((ignored, error) -> finish(index, jobId, null));
+        }
+
+        // 이미지 하나가 끝나면 결과를 내보내고 다음 이미지를 시작
+        private void finish(int index, Integer jobId, String errorMessage) {
+            BulkDiagnosisItemDto.BulkDiagnosisItemDtoBuilder item = BulkDiagnosisItemDto.builder()
+                    .index(index)
+                    .fileName(uploads.get(index).originalFileName());
+            if (jobId != null) {
+                try {
+                    DiagnosisJobDto jobDto = transactionTemplate.execute(status -> toDtoWithResult(findJob(jobId)));
+                    boolean success = jobDto.getStatus() == DiagnosisJobStatus.COMPLETED;
+                    item.job(jobDto).success(success).errorMessage(jobDto.getErrorMessage());
+                } catch (Exception e) {
+                    item.success(false).errorMessage(e.getMessage());
+                }
+            } else {
+                item.success(false).errorMessage(errorMessage);
+            }
+            BulkDiagnosisItemDto result = item.build();
+            if (result.isSuccess()) {
+                succeeded.incrementAndGet();
+            }
+            send(result);
+
+            if (finished.incrementAndGet() == uploads.size()) {
+                send(Map.of("total", uploads.size(),
+                        "succeeded", succeeded.get(),
+                        "failed", uploads.size() - succeeded.get()));
+                if (!clientGone) {
+                    emitter.complete();
+                }
+                return;
+            }
+            launchNext();
+        }
+
+        // 클라이언트 연결이 끊겨도 작업은 계속 진행 (결과는 작업 조회 API/SSE 로 확인 가능)
+        private void send(Object line) {
+            if (clientGone) {
+                return;
+            }
+            try {
+                emitter.send(objectMapper.writeValueAsString(line) + "\n", MediaType.TEXT_PLAIN);
+            } catch (IOException | IllegalStateException e) {
+                clientGone = true;
+                log.debug("[DiagnosisJob] 다중 진단 응답 전송 중단: {}", e.getMessage());
+            }
+        }
+
+        private void deleteQuietly(SpooledUpload upload) {
+            try {
+                Files.deleteIfExists(upload.file());
+            } catch (IOException e) {
+                log.warn("[DiagnosisJob] 임시 파일 삭제 실패 ({}): {}", upload.file(), e.getMessage());
+            }
+        }
+    }
+
+    private Member getCurrentMember() {
+        return currentMemberProvider.get();
+    }
+}
@@ -7,14 +7,17 @@ import com.example.be.dto.XrayImageDto;
 import com.example.be.dto.response.AiResponseDto;
 import com.example.be.entity.*;
 import com.example.be.repository.*;
-import com.example.be.service.ai.AiClient;
+import com.example.be.service.ai.AiBatchingClient;
+import com.example.be.service.ai.AiInferenceBulkhead;
+import com.example.be.storage.ContentHash;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.UUID;
 
@@ -24,12 +27,15 @@ import java.util.UUID;
 public class DiagnosisService {
 
     private final FirebaseService firebaseService;
-    private final MemberRepository memberRepository;
+    private final CurrentMemberProvider currentMemberProvider;
     private final PatientRepository patientRepository;
     private final XrayImageRepository xrayImageRepository;
     private final DiagnosisResultRepository diagnosisResultRepository;
-    private final AiClient aiClient;
+    private final AiBatchingClient aiClient;
+    private final AiInferenceBulkhead aiInferenceBulkhead;
     private final CommentRepository commentRepository;
+    private final XrayDeduplicator xrayDeduplicator;
+    private final DiagnosisTracer diagnosisTracer;
 
     //특정 진단 보고서 삭제
     public void deleteDiagnosisResult(Integer resultId) {
@@ -43,27 +49,7 @@ public class DiagnosisService {
     // 신규 환자 진단 시작
     public PatientDto startDiagnosisForNewPatient(PatientDto patientDto, MultipartFile xrayFile) throws IOException {
         Member member = getCurrentMember();
-
-        String patientCode = patientDto.getPatientCode();
-        if (patientCode == null || patientCode.isBlank()) {
-            patientCode = "P-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        }
-        if (patientRepository.existsByPatientCode(patientCode)) {
-            throw new IllegalArgumentException("이미 사용 중인 환자 ID입니다: " + patientCode);
-        }
-
-        Patient newPatient = Patient.builder()
-                .patientCode(patientCode)
-                .name(patientDto.getName())
-                .birthDate(patientDto.getBirthDate())
-                .gender(patientDto.getGender())
-                .bloodType(patientDto.getBloodType())
-                .height(patientDto.getHeight())
-                .weight(patientDto.getWeight())
-                .country(patientDto.getCountry())
-                .member(member)
-                .build();
-        Patient savedPatient = patientRepository.save(newPatient);
+        Patient savedPatient = registerNewPatient(patientDto, member);
 
         DiagnosisResultDto diagnosisResultDto = processDiagnosis(savedPatient, member, xrayFile);
 
@@ -83,8 +69,8 @@ public class DiagnosisService {
     // 기존 환자 진단 시작
     public PatientDto startDiagnosisForExistingPatient(Integer patientId, MultipartFile xrayFile) throws IOException {
         Member member = getCurrentMember();
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new IllegalArgumentException("환자를 찾을 수 없습니다."));
+        Patient patient = patientRepository.findByPatientIdAndMember_Id(patientId, member.getId())
+                .orElseThrow(() -> new SecurityException("권한이 없거나 존재하지 않는 환자입니다."));
 
         DiagnosisResultDto diagnosisResultDto = processDiagnosis(patient, member, xrayFile);
 
@@ -101,10 +87,61 @@ public class DiagnosisService {
         return finalPatientDto;
     }
 
-    // 공통 진단 처리 로직
+    // 신규 환자 등록 (진단 작업 등록 시에도 같은 트랜잭션에서 재사용)
+    public Patient registerNewPatient(PatientDto patientDto, Member member) {
+        String patientCode = patientDto.getPatientCode();
+        if (patientCode == null || patientCode.isBlank()) {
+            patientCode = "P-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        }
+        if (patientRepository.existsByPatientCode(patientCode)) {
+            throw new IllegalArgumentException("이미 사용 중인 환자 ID입니다: " + patientCode);
+        }
+
+        Patient newPatient = Patient.builder()
+                .patientCode(patientCode)
+                .name(patientDto.getName())
+                .birthDate(patientDto.getBirthDate())
+                .gender(patientDto.getGender())
+                .bloodType(patientDto.getBloodType())
+                .height(patientDto.getHeight())
+                .weight(patientDto.getWeight())
+                .country(patientDto.getCountry())
+                .member(member)
+                .build();
+        return patientRepository.save(newPatient);
+    }
+
+    // 공통 진단 처리 로직 (단계별 소요 시간은 DiagnosisTracer 로 기록)
     private DiagnosisResultDto processDiagnosis(Patient patient, Member member, MultipartFile xrayFile) throws IOException {
-        // 1) 원본 업로드
-        String imageUrl = firebaseService.uploadFile(xrayFile, "xray-images");
+        DiagnosisTracer.Trace trace = diagnosisTracer.start("sync", xrayFile.getSize());
+        try {
+            DiagnosisResultDto resultDto = processDiagnosis(patient, member, xrayFile, trace);
+            trace.success();
+            return resultDto;
+        } catch (IOException | RuntimeException e) {
+            trace.failure(e);
+            throw e;
+        }
+    }
+
+    private DiagnosisResultDto processDiagnosis(Patient patient, Member member, MultipartFile xrayFile,
+                                                DiagnosisTracer.Trace trace) throws IOException {
+        // 0) 내용 해시로 같은 필름의 기존 결과 조회
+        String contentHash = trace.stage("hash", () -> {
+            try (InputStream in = xrayFile.getInputStream()) {
+                return ContentHash.sha256Hex(in);
+            }
+        });
+        DiagnosisResult reusable = trace.stage("dedup_lookup",
+                () -> xrayDeduplicator.findReusableResult(contentHash, patient).orElse(null));
+        if (reusable == null) {
+            aiInferenceBulkhead.checkAdmission(); // AI 서버 과부하면 업로드 전에 거절
+        }
+
+        // 1) 원본 업로드 (중복이면 기존 객체 재사용)
+        String imageUrl = reusable != null
+                ? reusable.getXrayImage().getImageUrl()
+                : trace.stage("upload", () -> firebaseService.uploadFile(xrayFile, "xray-images", contentHash));
 
         // 2) 이미지 메타 저장
         XrayImage xrayImage = XrayImage.builder()
@@ -113,13 +150,29 @@ public class DiagnosisService {
                 .imageUrl(imageUrl)
                 .fileName(xrayFile.getOriginalFilename())
                 .fileSize((int) xrayFile.getSize())
+                .contentHash(contentHash)
                 .build();
-        XrayImage savedXrayImage = xrayImageRepository.save(xrayImage);
+        XrayImage savedXrayImage = trace.stage("save_image", () -> xrayImageRepository.save(xrayImage));
+
+        // 3) AI 서버 호출 + 4) 결과 저장 (중복이면 기존 결과 복사)
+        DiagnosisResult result = reusable != null
+                ? reusable.copyFor(savedXrayImage)
+                : toDiagnosisResult(savedXrayImage, trace.stage("inference", () -> callAiServer(imageUrl)));
+        DiagnosisResult savedResult = trace.stage("save_result", () -> diagnosisResultRepository.save(result));
+        patient.recordAnalysis(LocalDateTime.now());
+        return trace.stage("to_dto", () -> DiagnosisResultDto.fromEntity(savedResult));
+    }
 
-        // 3) AI 서버 호출
-        AiResponseDto aiResponse = callAiServer(imageUrl);
+    private AiResponseDto callAiServer(String imageUrl) {
+        AiResponseDto resp = aiClient.predict(imageUrl);
+        if (resp == null) {
+            throw new IllegalStateException("AI 서버 응답이 비어있습니다.");
+        }
+        return resp;
+    }
 
-        // 4) 결과 저장 (널 방어)
+    // AI 응답을 진단 결과 엔티티로 변환 (널 방어, top3 추출, Grad-CAM URL 정규화)
+    static DiagnosisResult toDiagnosisResult(XrayImage xrayImage, AiResponseDto aiResponse) {
         Float prob = (aiResponse.getProbability() != null) ? aiResponse.getProbability() : 0f;
         // gradcam 공개 URL이 있으면 그걸, 없으면 내부 경로 사용
 //        String camPath = aiResponse.getGradcamImagePath() != null ? aiResponse.getGradcamImagePath() : "";
@@ -166,8 +219,8 @@ public class DiagnosisService {
             prob = (top1Prob != null) ? top1Prob : prob;
         }
 
-        DiagnosisResult result = DiagnosisResult.builder()
-                .xrayImage(savedXrayImage)
+        return DiagnosisResult.builder()
+                .xrayImage(xrayImage)
                 .predictedDisease(aiResponse.getPredictedDisease())
                 .probability(prob)
                 .gradcamImagePath(camHttps)
@@ -179,17 +232,6 @@ public class DiagnosisService {
                 .top3Disease(top3Label)
                 .top3Probability(top3Prob)
                 .build();
-
-        DiagnosisResult savedResult = diagnosisResultRepository.save(result);
-        return DiagnosisResultDto.fromEntity(savedResult);
-    }
-
-    private AiResponseDto callAiServer(String imageUrl) {
-        AiResponseDto resp = aiClient.predict(imageUrl);
-        if (resp == null) {
-            throw new IllegalStateException("AI 서버 응답이 비어있습니다.");
-        }
-        return resp;
     }
 
     @Transactional(readOnly = true)
@@ -214,9 +256,7 @@ public class DiagnosisService {
     }
 
     private Member getCurrentMember() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("로그인한 사용자 정보를 찾을 수 없습니다."));
+        return currentMemberProvider.get();
     }
 
     private static boolean isBlank(String s) {
@@ -229,7 +269,7 @@ public class DiagnosisService {
         }
         return null;
     }
-    private static String gsToFirebaseHttps(String gsUrl) {
+    static String gsToFirebaseHttps(String gsUrl) {
         if (isBlank(gsUrl)) return null;
         final String prefix = "gs://";
         if (!gsUrl.startsWith(prefix)) return gsUrl; // 이미 https면 그대로
@@ -0,0 +1,121 @@
+package com.example.be.service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 진단 파이프라인 단계별 계측.
+ * 전체 진단은 "diagnosis", 각 단계는 "diagnosis.stage" Observation 으로 기록되어
+ * 타이머(Prometheus: diagnosis_seconds, diagnosis_stage_seconds)와 트레이싱 span 이 함께 만들어진다.
+ * 태그: flow, stage, size(파일 크기 구간), outcome(success|error)
+ * 전체 시간이 diagnosis.slow-log-threshold-ms 를 넘으면 단계별 소요 시간을 WARN 로그로 남긴다.
+ */
+@Slf4j
+@Component
+public class DiagnosisTracer {
+
+    private final ObservationRegistry observationRegistry;
+    private final long slowThresholdMillis;
+
+    public DiagnosisTracer(ObservationRegistry observationRegistry,
+                           @Value("${diagnosis.slow-log-threshold-ms:10000}") long slowThresholdMillis) {
+        this.observationRegistry = observationRegistry;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    public Trace start(String flow, long fileSizeBytes) {
+        return new Trace(flow, sizeBucket(fileSizeBytes), fileSizeBytes);
+    }
+
+    // 태그 카디널리티를 제한하기 위한 파일 크기 구간
+    static String sizeBucket(long bytes) {
+        if (bytes < 512 * 1024) return "lt_512kb";
+        if (bytes < 2 * 1024 * 1024) return "lt_2mb";
+        if (bytes < 8 * 1024 * 1024) return "lt_8mb";
+        return "gte_8mb";
+    }
+
+    @FunctionalInterface
+    public interface Stage<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public final class Trace {
+
+        private final String flow;
+        private final String sizeBucket;
+        private final long fileSizeBytes;
+        private final Observation observation;
+        private final long startedAt = System.nanoTime();
+        private final Map<String, Long> stageMillis = new LinkedHashMap<>();
+        private boolean finished;
+
+        private Trace(String flow, String sizeBucket, long fileSizeBytes) {
+            this.flow = flow;
+            this.sizeBucket = sizeBucket;
+            this.fileSizeBytes = fileSizeBytes;
+            this.observation = Observation.createNotStarted("diagnosis", observationRegistry)
+                    .lowCardinalityKeyValue("flow", flow)
+                    .lowCardinalityKeyValue("size", sizeBucket)
+                    .start();
+        }
+
+        public <T, E extends Exception> T stage(String name, Stage<T, E> stage) throws E {
+            Observation stageObservation = Observation.createNotStarted("diagnosis.stage", observationRegistry)
+                    .parentObservation(observation)
+                    .lowCardinalityKeyValue("flow", flow)
+                    .lowCardinalityKeyValue("stage", name)
+                    .lowCardinalityKeyValue("size", sizeBucket)
+                    .start();
+            long stageStart = System.nanoTime();
+            try (Observation.Scope ignored = stageObservation.openScope()) {
+                T result = stage.call();
+                stageObservation.lowCardinalityKeyValue("outcome", "success");
+                return result;
+            } catch (Exception e) {
+                stageObservation.lowCardinalityKeyValue("outcome", "error");
+                stageObservation.error(e);
+                throw e;
+            } finally {
+                stageMillis.merge(name, (System.nanoTime() - stageStart) / 1_000_000, Long::sum);
+                stageObservation.stop();
+            }
+        }
+
+        public void success() {
+            finish(null);
+        }
+
+        public void failure(Throwable error) {
+            finish(error);
+        }
+
+        private void finish(Throwable error) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            observation.lowCardinalityKeyValue("outcome", error == null ? "success" : "error");
+            if (error != null) {
+                observation.error(error);
+            }
+            observation.stop();
+
+            long totalMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            if (totalMillis >= slowThresholdMillis) {
+                String breakdown = stageMillis.entrySet().stream()
+                        .map(entry -> entry.getKey() + "=" + entry.getValue() + "ms")
+                        .collect(Collectors.joining(", "));
+                log.warn("[Diagnosis] 느린 진단 {}ms (flow={}, size={} bytes, outcome={}): {}",
+                        totalMillis, flow, fileSizeBytes, error == null ? "success" : "error", breakdown);
+            }
+        }
+    }
+}
@@ -1,38 +1,70 @@
 package com.example.be.service;
 
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
+import com.example.be.storage.BlobStore;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.UUID;
 
+// 업로드 파일의 저장 경로를 정하고 설정된 BlobStore(gcs | local)로 스트리밍 저장
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class FirebaseService {
 
-    private final Storage storage;
-
-    @Value("${firebase.bucket-name}")
-    private String bucketName;
+    private final BlobStore blobStore;
 
     public String uploadFile(MultipartFile file, String path) throws IOException {
-        String originalFileName = file.getOriginalFilename();
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-        String storagePath = path + "/" + uniqueFileName;
-
-        BlobId blobId = BlobId.of(bucketName, storagePath);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
-        storage.create(blobInfo, file.getBytes());
-
-        String encodedPath = URLEncoder.encode(storagePath, StandardCharsets.UTF_8);
-        return "https://firebasestorage.googleapis.com/v0/b/" + bucketName + "/o/" + encodedPath + "?alt=media";
+        return uploadFile(file, path, null);
+    }
+
+    // contentHash가 있으면 내용 기반 key(해시 + 확장자)로 저장해 같은 파일은 같은 객체를 가리킴
+    public String uploadFile(MultipartFile file, String path, String contentHash) throws IOException {
+        try (InputStream in = file.getInputStream();
+             ReadableByteChannel source = Channels.newChannel(in)) {
+            return upload(source, objectKey(path, file.getOriginalFilename(), contentHash), file.getContentType());
+        }
+    }
+
+    // 요청 스레드 밖(진단 작업 워커)에서 임시 저장된 파일을 업로드
+    public String uploadFile(Path sourceFile, String originalFileName, String contentType,
+                             String path, String contentHash) throws IOException {
+        try (FileChannel source = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+            return upload(source, objectKey(path, originalFileName, contentHash), contentType);
+        }
+    }
+
+    private static String objectKey(String path, String originalFileName, String contentHash) {
+        if (contentHash == null) {
+            return path + "/" + UUID.randomUUID().toString() + "_" + originalFileName;
+        }
+        String extension = "";
+        if (originalFileName != null && originalFileName.lastIndexOf('.') >= 0) {
+            extension = originalFileName.substring(originalFileName.lastIndexOf('.')).toLowerCase();
+        }
+        return path + "/" + contentHash + extension;
+    }
+
+    private String upload(ReadableByteChannel source, String storagePath, String contentType) throws IOException {
+        long startedAt = System.nanoTime();
+        long totalBytes = blobStore.write(storagePath, source, contentType);
+        logThroughput(storagePath, totalBytes, System.nanoTime() - startedAt);
+
+        return blobStore.publicUrl(storagePath);
+    }
+
+    private void logThroughput(String storagePath, long totalBytes, long elapsedNanos) {
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        double mbPerSecond = elapsedNanos > 0 ? (totalBytes / (1024.0 * 1024.0)) / (elapsedNanos / 1_000_000_000.0) : 0;
+        log.info("[Storage] 업로드 완료 {} ({} bytes, {} ms, {} MB/s)",
+                storagePath, totalBytes, String.format("%.1f", elapsedMillis), String.format("%.2f", mbPerSecond));
     }
-}
\ No newline at end of file
+}
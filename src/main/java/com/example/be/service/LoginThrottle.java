@@ -0,0 +1,93 @@
+package com.example.be.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그인 실패 횟수 제한 (계정별 / IP별, 고정 윈도우).
+ * 한도를 넘은 계정·IP 는 window-seconds 동안 BCrypt 검증 전에 바로 거절해 크리덴셜 스터핑이 해시 실행기를 채우지 못하게 한다.
+ * 존재하지 않는 이메일도 같은 방식으로 세어 계정 존재 여부가 드러나지 않도록 한다.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, AtomicInteger> accountFailures;
+    private final Cache<String, AtomicInteger> ipFailures;
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final long windowSeconds;
+    private final Counter blockedAccount;
+    private final Counter blockedIp;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${login.throttle.max-account-failures:5}") int maxAccountFailures,
+                         @Value("${login.throttle.max-ip-failures:50}") int maxIpFailures,
+                         @Value("${login.throttle.window-seconds:900}") long windowSeconds,
+                         @Value("${login.throttle.max-keys:100000}") long maxKeys) {
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.windowSeconds = windowSeconds;
+        this.accountFailures = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxKeys)
+                .build();
+        this.ipFailures = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxKeys)
+                .build();
+        this.blockedAccount = blockedCounter(meterRegistry, "account");
+        this.blockedIp = blockedCounter(meterRegistry, "ip");
+    }
+
+    public boolean isBlocked(String email, String clientIp) {
+        if (clientIp != null && count(ipFailures, clientIp) >= maxIpFailures) {
+            blockedIp.increment();
+            return true;
+        }
+        if (count(accountFailures, key(email)) >= maxAccountFailures) {
+            blockedAccount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        if (clientIp != null) {
+            ipFailures.get(clientIp, ip -> new AtomicInteger()).incrementAndGet();
+        }
+        accountFailures.get(key(email), account -> new AtomicInteger()).incrementAndGet();
+    }
+
+    // 로그인 성공 시 계정 실패 횟수만 초기화 (같은 IP 의 다른 계정 시도는 계속 셈)
+    public void recordSuccess(String email) {
+        accountFailures.invalidate(key(email));
+    }
+
+    public long windowSeconds() {
+        return windowSeconds;
+    }
+
+    private static int count(Cache<String, AtomicInteger> failures, String key) {
+        AtomicInteger counter = failures.getIfPresent(key);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter blockedCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("login.throttled")
+                .description("실패 횟수 제한으로 거절된 로그인 시도")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -7,9 +7,9 @@ import com.example.be.entity.Member;
 import com.example.be.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
@@ -17,7 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class MemberService {
 
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * 비밀번호 변경 서비스 메서드
@@ -36,19 +37,24 @@ public class MemberService {
             }
 
             // 2. 입력된 '현재 비밀번호'가 DB에 저장된 비밀번호와 일치하는지 확인
-            if (!passwordEncoder.matches(dto.getCurrentPassword(), member.getPassword())) {
+            if (!passwordHashingService.matches(dto.getCurrentPassword(), member.getPassword())) {
                 // 비밀번호가 일치하지 않으면 '비밀번호 불일치' 응답 반환
                 return ResponseDto.passwordMismatch();
             }
 
             // 3. '새 비밀번호'를 BCrypt 알고리즘으로 암호화
-            String encodedNewPassword = passwordEncoder.encode(dto.getNewPassword());
+            String encodedNewPassword = passwordHashingService.encode(dto.getNewPassword());
 
             // 4. 회원의 비밀번호를 암호화된 새 비밀번호로 업데이트
             member.updatePassword(encodedNewPassword);
+            // 다른 기기의 리프레시 토큰 폐기 (발급된 액세스 토큰은 만료 시까지 유효)
+            refreshTokenService.revokeAll(member.getId());
 
             // @Transactional 어노테이션에 의해 메서드가 종료될 때 변경된 member 객체가 자동으로 DB에 반영(저장)됩니다.
 
+        } catch (ResponseStatusException exception) {
+            // 해시 실행기 과부하는 그대로 503 으로
+            throw exception;
         } catch (Exception exception) {
             exception.printStackTrace();
             // 데이터베이스 오류 발생 시 에러 응답 반환
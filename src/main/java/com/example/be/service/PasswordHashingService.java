@@ -0,0 +1,135 @@
+package com.example.be.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시/검증 전용 실행기.
+ * BCrypt 는 요청 스레드에서 돌리면 로그인 폭주 시 모든 코어를 점유하므로 passwordHashExecutor(AsyncConfig)에서만 실행하고,
+ * 대기열(queue-capacity)이 차거나 timeout-ms 안에 끝나지 않으면 바로 503 으로 거절한다.
+ * 시간 초과된 작업은 대기열에서 빼고, 기한이 지난 뒤 차례가 온 작업은 BCrypt 를 시작하지 않는다
+ * (이미 시작한 BCrypt 는 인터럽트에 반응하지 않으므로 중단되지 않음).
+ * cost 는 SecurityConfig 의 PasswordEncoder(서버 성능 기준 보정값)를 따른다.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashExecutor;
+    private final long timeoutMillis;
+
+    private final Timer matchTimer;
+    private final Timer encodeTimer;
+    private final Counter rejections;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor hashExecutor,
+                                  @Value("${password.hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        // 시간 초과 시 대기열에서 작업을 빼야 하므로 내부 ThreadPoolExecutor 를 직접 쓴다
+        this.hashExecutor = hashExecutor.getThreadPoolExecutor();
+
+        this.matchTimer = hashTimer(meterRegistry, "match");
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.rejections = Counter.builder("password.hashing.rejections")
+                .description("과부하로 거절된 비밀번호 해시 요청")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", hashExecutor, executor -> executor.getQueue().size())
+                .description("비밀번호 해시 대기열 길이")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // 로그인 성공 후 재해시처럼 응답을 기다릴 필요 없는 작업용. 과부하면 ResponseStatusException 을 던진다.
+    // 반환된 future 의 후속 작업(DB 저장 등)은 해시 스레드를 점유하지 않도록 다른 실행기에서 돌릴 것.
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // 저장된 해시의 cost 가 현재 설정보다 낮으면 true (높이는 방향으로만 재해시)
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashExecutor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw busy();
+        }
+    }
+
+    // FutureTask 를 직접 넣어야 시간 초과 시 cancel/remove 가 대기열의 작업에 닿는다
+    private <T> T run(Supplier<T> work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        FutureTask<T> task = new FutureTask<>(() -> {
+            if (System.nanoTime() - deadline > 0) {
+                throw new CancellationException("대기 중 기한 초과");
+            }
+            return work.get();
+        });
+        try {
+            hashExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw busy();
+        }
+        try {
+            return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(task);
+            rejections.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            abandon(task);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 아직 대기열에 있으면 제거해 자리를 비우고, 실행 중이면 결과만 버린다
+    private void abandon(FutureTask<?> task) {
+        task.cancel(true);
+        hashExecutor.remove(task);
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "비밀번호 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing")
+                .description("BCrypt 해시/검증 시간 (대기 제외)")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.be.service;
+
+import com.example.be.dto.CommentDto;
+import com.example.be.dto.DiagnosisResultDto;
+import com.example.be.dto.PatientDto;
+import com.example.be.dto.XrayImageDto;
+import com.example.be.entity.Comment;
+import com.example.be.entity.DiagnosisResult;
+import com.example.be.entity.Patient;
+import com.example.be.entity.XrayImage;
+import com.example.be.repository.CommentRepository;
+import com.example.be.repository.XrayImageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 환자 → X-ray → 진단 결과 → 소견 그래프를 조회 전용으로 조립한다.
+ * 환자 수와 무관하게 X-ray(+결과) 1회, 소견(+작성자) 1회의 고정된 쿼리만 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PatientDetailsReader {
+
+    private final XrayImageRepository xrayImageRepository;
+    private final CommentRepository commentRepository;
+
+    public PatientDto read(Patient patient) {
+        return readAll(List.of(patient)).get(0);
+    }
+
+    public List<PatientDto> readAll(List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> patientIds = patients.stream()
+                .map(Patient::getPatientId)
+                .collect(Collectors.toList());
+        List<XrayImage> xrayImages = xrayImageRepository.findAllWithResultByPatientIds(patientIds);
+
+        List<Integer> resultIds = xrayImages.stream()
+                .map(XrayImage::getDiagnosisResult)
+                .filter(Objects::nonNull)
+                .map(DiagnosisResult::getResultId)
+                .collect(Collectors.toList());
+        Map<Integer, List<Comment>> commentsByResultId = resultIds.isEmpty()
+                ? Map.of()
+                : commentRepository.findAllWithMemberByResultIds(resultIds).stream()
+                        .collect(Collectors.groupingBy(comment -> comment.getDiagnosisResult().getResultId()));
+
+        Map<Integer, List<XrayImageDto>> xrayImagesByPatientId = new HashMap<>();
+        for (XrayImage xrayImage : xrayImages) {
+            Integer patientId = xrayImage.getPatient().getPatientId();
+            XrayImageDto xrayImageDto = XrayImageDto.fromEntity(xrayImage);
+
+            DiagnosisResult result = xrayImage.getDiagnosisResult();
+            if (result != null) {
+                List<CommentDto> commentDtos = commentsByResultId.getOrDefault(result.getResultId(), List.of())
+                        .stream()
+                        .map(comment -> CommentDto.fromEntity(comment, result.getResultId(), patientId))
+                        .collect(Collectors.toList());
+                xrayImageDto.setDiagnosisResult(DiagnosisResultDto.fromEntity(result, xrayImage, patientId, commentDtos));
+            }
+            xrayImagesByPatientId.computeIfAbsent(patientId, id -> new ArrayList<>()).add(xrayImageDto);
+        }
+
+        return patients.stream().map(patient -> {
+            PatientDto patientDto = PatientDto.fromEntity(patient);
+            patientDto.setXrayImages(xrayImagesByPatientId.getOrDefault(patient.getPatientId(), new ArrayList<>()));
+            return patientDto;
+        }).collect(Collectors.toList());
+    }
+}
@@ -1,32 +1,33 @@
 package com.example.be.service;
 
-import com.example.be.dto.DiagnosisResultDto;
 import com.example.be.dto.PatientDto;
+import com.example.be.dto.PatientPageDto;
 import com.example.be.dto.XrayImageDto;
 import com.example.be.entity.Member;
 import com.example.be.entity.Patient;
 import com.example.be.entity.XrayImage;
-import com.example.be.repository.DiagnosisResultRepository;
-import com.example.be.repository.MemberRepository;
 import com.example.be.repository.PatientRepository;
 import com.example.be.repository.XrayImageRepository;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
+import com.example.be.service.search.PatientSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value; // 1. 올바른 Value 어노테이션으로 수정
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile; // 2. 중복 import 제거
 
 import java.io.IOException;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -35,14 +36,21 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class PatientService {
 
-    private final DiagnosisResultRepository diagnosisResultRepository;
     private final PatientRepository patientRepository;
-    private final MemberRepository memberRepository;
+    private final CurrentMemberProvider currentMemberProvider;
     private final XrayImageRepository xrayImageRepository;
-    private final Storage storage;
+    private final PatientDetailsReader patientDetailsReader;
+    private final FirebaseService firebaseService;
+    private final PatientSearchIndex patientSearchIndex;
 
-    @Value("${firebase.bucket-name}")
-    private String bucketName;
+    private static final String SORT_LAST_ANALYSIS = "lastAnalysisAt";
+    private static final String CURSOR_NULL = "-";
+
+    @Value("${patient.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${patient.page.max-size:100}")
+    private int maxPageSize;
 
     public PatientDto createPatientWithInitialXray(PatientDto patientDto, MultipartFile xrayFile) throws IOException {
         Member member = getCurrentMember();
@@ -64,7 +72,7 @@ public class PatientService {
                 .build();
         Patient savedPatient = patientRepository.save(newPatient);
 
-        String imageUrl = uploadFileToFirebase(xrayFile, "original/");
+        String imageUrl = uploadFileToFirebase(xrayFile, "original");
 
         XrayImage xrayImage = XrayImage.builder()
                 .patient(savedPatient)
@@ -82,54 +90,112 @@ public class PatientService {
     }
 
     private String uploadFileToFirebase(MultipartFile file, String folder) throws IOException {
-        String uniqueFileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        String storagePath = folder + uniqueFileName;
+        return firebaseService.uploadFile(file, folder);
+    }
+
+    // 로그인 사용자의 환자 목록 keyset 페이지 조회
+    @Transactional(readOnly = true)
+    public PatientPageDto findMyPatients(String cursor, Integer size, String sort, boolean withDetails) {
+        Member member = getCurrentMember();
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        boolean byLastAnalysis = SORT_LAST_ANALYSIS.equals(sort);
+        List<Patient> patients = byLastAnalysis
+                ? findPageOrderByLastAnalysis(member.getId(), cursor, limit)
+                : findPageOrderByPatientId(member.getId(), cursor, limit);
+
+        boolean hasNext = patients.size() > pageSize;
+        if (hasNext) {
+            patients = patients.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? encodeCursor(patients.get(pageSize - 1), byLastAnalysis) : null;
+
+        List<PatientDto> content = withDetails
+                ? patientDetailsReader.readAll(patients)
+                : patients.stream().map(PatientDto::fromEntity).collect(Collectors.toList());
 
-        BlobId blobId = BlobId.of(bucketName, storagePath);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
+        return PatientPageDto.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
                 .build();
+    }
 
-        storage.create(blobInfo, file.getBytes());
+    private List<Patient> findPageOrderByPatientId(Integer memberId, String cursor, Pageable limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return patientRepository.findFirstPageByMember(memberId, limit);
+        }
+        String[] parts = decodeCursor(cursor);
+        return patientRepository.findPageByMemberAfter(memberId, parseCursorId(parts[parts.length - 1]), limit);
+    }
 
-        String encodedFileName = URLEncoder.encode(storagePath, StandardCharsets.UTF_8);
-        return "https://firebasestorage.googleapis.com/v0/b/" + bucketName + "/o/" + encodedFileName + "?alt=media";
+    private List<Patient> findPageOrderByLastAnalysis(Integer memberId, String cursor, Pageable limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return patientRepository.findFirstPageByMemberOrderByLastAnalysis(memberId, limit);
+        }
+        String[] parts = decodeCursor(cursor);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        Integer cursorId = parseCursorId(parts[1]);
+        // 커서가 이미 분석 이력 없는 구간에 있으면 그 구간 안에서만 이어서 조회
+        if (CURSOR_NULL.equals(parts[0])) {
+            return patientRepository.findNeverAnalyzedPageByMemberAfter(memberId, cursorId, limit);
+        }
+        try {
+            LocalDateTime lastAnalysisAt = LocalDateTime.parse(parts[0]);
+            return patientRepository.findPageByMemberOrderByLastAnalysisAfter(memberId, lastAnalysisAt, cursorId, limit);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 
-    @Transactional(readOnly = true)
-    public List<PatientDto> findAllPatientsWithXrays() {
-        List<Patient> allPatients = patientRepository.findAll();
-
-        return allPatients.stream().map(patient -> {
-            PatientDto patientDto = PatientDto.fromEntity(patient);
-
-            // 1. 환자에게 속한 모든 X-ray 이미지를 찾
-            List<XrayImageDto> xrayImageDtos = xrayImageRepository.findAllByPatient_PatientId(patient.getPatientId())
-                    .stream()
-                    .map(xrayImage -> {
-                        XrayImageDto xrayImageDto = XrayImageDto.fromEntity(xrayImage);
-
-                        // 2. 각 X-ray 이미지에 해당하는 진단 결과를 찾
-                        diagnosisResultRepository.findByXrayImage(xrayImage)
-                                .ifPresent(diagnosisResult -> {
-                                    // 3. 진단 결과가 있으면 DTO로 변환하여 설정
-                                    xrayImageDto.setDiagnosisResult(DiagnosisResultDto.fromEntity(diagnosisResult));
-                                });
-                        return xrayImageDto;
-                    })
-                    .collect(Collectors.toList());
-
-            patientDto.setXrayImages(xrayImageDtos);
-            return patientDto;
-        }).collect(Collectors.toList());
-    }
-
-    // 모든 환자 목록 조회
-    @Transactional(readOnly = true)
-    public List<PatientDto> findAllPatientsWithDetails() {
-        return patientRepository.findAll().stream()
-                .map(this::mapPatientToDtoWithDetails)
-                .collect(Collectors.toList());
+    // 커서 형식: "patientId" 또는 "lastAnalysisAt|patientId" 를 Base64(URL-safe)로 인코딩
+    private static String encodeCursor(Patient last, boolean byLastAnalysis) {
+        String raw = String.valueOf(last.getPatientId());
+        if (byLastAnalysis) {
+            String analyzedAt = last.getLastAnalysisAt() != null ? last.getLastAnalysisAt().toString() : CURSOR_NULL;
+            raw = analyzedAt + "|" + raw;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 검색 커서: offset 하나만 허용 (음수, 숫자가 아닌 값, 구분자가 섞인 값은 거절)
+    private static int decodeOffset(String cursor) {
+        String[] parts = decodeCursor(cursor);
+        if (parts.length != 1) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        int offset = parseCursorId(parts[0]);
+        if (offset < 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        return offset;
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return raw.split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    private static Integer parseCursorId(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 
     // ID로 특정 환자 조회
@@ -137,7 +203,7 @@ public class PatientService {
     public PatientDto getPatientByIdWithDetails(Integer patientId) {
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new IllegalArgumentException("환자를 찾을 수 없습니다. ID: " + patientId));
-        return mapPatientToDtoWithDetails(patient);
+        return patientDetailsReader.read(patient);
     }
 
     // Code로 특정 환자 조회
@@ -145,32 +211,41 @@ public class PatientService {
     public PatientDto getPatientByCodeWithDetails(String patientCode) {
         Patient patient = patientRepository.findByPatientCode(patientCode)
                 .orElseThrow(() -> new IllegalArgumentException("환자를 찾을 수 없습니다. Code: " + patientCode));
-        return mapPatientToDtoWithDetails(patient);
+        return patientDetailsReader.read(patient);
     }
-    // 환자 검색
-    public List<PatientDto> searchPatients(String name, LocalDate birthDate, String gender) {
-        List<Patient> patients = patientRepository.findByNameAndBirthDateAndGender(name, birthDate, gender);
-        return patients.stream()
-                .map(this::mapPatientToDtoWithDetails)
+    // 로그인 사용자의 환자 검색 (이름 / 환자 코드 / 익명 ID / 국가 부분 일치 + 선택 필터)
+    // 인메모리 색인에서 관련도순 ID 를 구한 뒤 해당 페이지만 DB 에서 읽는다. cursor 는 다음 페이지 offset.
+    @Transactional(readOnly = true)
+    public PatientPageDto searchPatients(String query, String gender, LocalDate birthDate, String country,
+                                         String cursor, Integer size, boolean withDetails) {
+        Member member = getCurrentMember();
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        int offset = (cursor == null || cursor.isBlank()) ? 0 : decodeOffset(cursor);
+
+        List<Integer> matchedIds = patientSearchIndex.search(member.getId(), query, gender, birthDate, country);
+        long end = (long) offset + pageSize; // 큰 offset 에서 int 오버플로 방지
+        List<Integer> pageIds = matchedIds.subList(Math.min(offset, matchedIds.size()),
+                (int) Math.min(end, matchedIds.size()));
+        boolean hasNext = end < matchedIds.size();
+
+        // 색인 순서(관련도순)대로 정렬. 색인 반영 직전에 삭제된 환자는 건너뜀
+        Map<Integer, Patient> byId = patientRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Patient::getPatientId, Function.identity()));
+        List<Patient> patients = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-    }
 
-//    [Helper Method] Patient 엔티티를 받아서 연관된 모든 상세 정보를 포함한 DTO로 변환
-    private PatientDto mapPatientToDtoWithDetails(Patient patient) {
-        PatientDto patientDto = PatientDto.fromEntity(patient);
-        List<XrayImageDto> xrayImageDtos = xrayImageRepository.findAllByPatient_PatientId(patient.getPatientId())
-                .stream()
-                .map(xrayImage -> {
-                    XrayImageDto xrayImageDto = XrayImageDto.fromEntity(xrayImage);
-                    diagnosisResultRepository.findByXrayImage(xrayImage)
-                            .ifPresent(diagnosisResult ->
-                                    xrayImageDto.setDiagnosisResult(DiagnosisResultDto.fromEntity(diagnosisResult))
-                            );
-                    return xrayImageDto;
-                })
-                .collect(Collectors.toList());
-        patientDto.setXrayImages(xrayImageDtos);
-        return patientDto;
+        List<PatientDto> content = withDetails
+                ? patientDetailsReader.readAll(patients)
+                : patients.stream().map(PatientDto::fromEntity).collect(Collectors.toList());
+
+        return PatientPageDto.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeOffset(offset + pageSize) : null)
+                .build();
     }
 
     @Transactional
@@ -206,8 +281,6 @@ public class PatientService {
 
     // 3. 누락되었던 getCurrentMember() 메소드 추가
     private Member getCurrentMember() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("로그인한 사용자 정보를 찾을 수 없습니다."));
+        return currentMemberProvider.get();
     }
 }
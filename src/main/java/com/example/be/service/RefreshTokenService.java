@@ -0,0 +1,129 @@
+package com.example.be.service;
+
+import com.example.be.entity.RefreshToken;
+import com.example.be.repository.RefreshTokenRepository;
+import com.example.be.storage.ContentHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급 / 회전.
+ * 1. 로그인 시 새 family 로 발급하고, 재발급(rotate)할 때마다 사용한 토큰을 used 로 표시한 뒤 같은 family 에 새 토큰을 추가한다.
+ * 2. 이미 사용된 토큰이 reuse-grace-seconds 이후에 다시 들어오면 탈취로 보고 family 전체를 삭제한다 (정상 사용자도 재로그인 필요).
+ * 3. 여러 탭이 동시에 재발급하는 경우처럼 grace 안의 재사용은 family 를 유지한 채 새 토큰을 하나 더 발급한다.
+ * 원문 토큰은 응답으로만 내보내고 DB 에는 SHA-256 해시만 저장한다.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long ttlSeconds;
+    private final long reuseGraceSeconds;
+
+    private final Counter rotated;
+    private final Counter graceReissued;
+    private final Counter reuseDetected;
+    private final Counter rejected;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.refresh-token.ttl-seconds:1209600}") long ttlSeconds,
+                               @Value("${jwt.refresh-token.reuse-grace-seconds:10}") long reuseGraceSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.reuseGraceSeconds = reuseGraceSeconds;
+        this.rotated = refreshCounter(meterRegistry, "rotated");
+        this.graceReissued = refreshCounter(meterRegistry, "grace");
+        this.reuseDetected = refreshCounter(meterRegistry, "reuse");
+        this.rejected = refreshCounter(meterRegistry, "rejected");
+    }
+
+    @Transactional
+    public String issue(Integer memberId) {
+        return save(memberId, UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    // 유효하면 새 리프레시 토큰과 회원 ID 를, 없거나 만료/재사용된 토큰이면 empty 를 반환
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(ContentHash.sha256Hex(rawToken)).orElse(null);
+        if (current == null || current.getExpiresAt().isBefore(now)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 1) {
+            rotated.increment();
+            return Optional.of(new Rotation(current.getMemberId(), save(current.getMemberId(), current.getFamilyId())));
+        }
+
+        // 이미 사용된 토큰. usedAt 이 null 이면 방금 다른 요청이 먼저 표시한 경우
+        LocalDateTime usedAt = current.getUsedAt();
+        if (usedAt == null || usedAt.isAfter(now.minusSeconds(reuseGraceSeconds))) {
+            graceReissued.increment();
+            return Optional.of(new Rotation(current.getMemberId(), save(current.getMemberId(), current.getFamilyId())));
+        }
+
+        int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+        reuseDetected.increment();
+        log.warn("[RefreshToken] 사용된 리프레시 토큰 재사용 감지, family 폐기 (memberId={}, 삭제 {}건)",
+                current.getMemberId(), revoked);
+        return Optional.empty();
+    }
+
+    // 비밀번호 변경 등으로 모든 기기의 로그인을 끊을 때
+    @Transactional
+    public void revokeAll(Integer memberId) {
+        refreshTokenRepository.deleteByMemberId(memberId);
+    }
+
+    public long ttlSeconds() {
+        return ttlSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("[RefreshToken] 만료된 리프레시 토큰 {}건 삭제", deleted);
+        }
+    }
+
+    private String save(Integer memberId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(ContentHash.sha256Hex(rawToken))
+                .familyId(familyId)
+                .memberId(memberId)
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .build());
+        return rawToken;
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.refresh")
+                .description("리프레시 토큰 재발급 결과")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public record Rotation(Integer memberId, String refreshToken) {
+    }
+}
@@ -7,11 +7,9 @@ import com.example.be.dto.response.TodoItemDto;
 import com.example.be.entity.Member;
 import com.example.be.entity.ScheduleEvent;
 import com.example.be.entity.TodoItem;
-import com.example.be.repository.MemberRepository;
 import com.example.be.repository.ScheduleEventRepository;
 import com.example.be.repository.TodoItemRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +25,7 @@ import java.util.stream.Collectors;
 @Transactional
 public class ScheduleService {
 
-    private final MemberRepository memberRepository;
+    private final CurrentMemberProvider currentMemberProvider;
     private final ScheduleEventRepository scheduleEventRepository;
     private final TodoItemRepository todoItemRepository;
 
@@ -128,8 +126,6 @@ public class ScheduleService {
 
     // 현재 로그인한 사용자 정보를 가져오는 헬퍼 메소드
     private Member getCurrentMember() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("로그인한 사용자 정보를 찾을 수 없습니다."));
+        return currentMemberProvider.get();
     }
 }
\ No newline at end of file
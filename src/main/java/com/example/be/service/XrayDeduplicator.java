@@ -0,0 +1,44 @@
+package com.example.be.service;
+
+import com.example.be.entity.DiagnosisResult;
+import com.example.be.entity.Patient;
+import com.example.be.repository.DiagnosisResultRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 같은 환자에게 같은 X-ray(SHA-256 동일)가 다시 업로드되면 기존 저장소 객체와 진단 결과를 재사용한다.
+ * 다른 환자(다른 회원 포함)의 결과와 이미지는 해시가 같아도 공유하지 않는다.
+ * 조회 결과는 xray.dedup.lookups{result=hit|miss} 카운터로 노출 (hit / 전체 = 중복 적중률).
+ */
+@Component
+public class XrayDeduplicator {
+
+    private final DiagnosisResultRepository diagnosisResultRepository;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public XrayDeduplicator(DiagnosisResultRepository diagnosisResultRepository, MeterRegistry meterRegistry) {
+        this.diagnosisResultRepository = diagnosisResultRepository;
+        this.hitCounter = Counter.builder("xray.dedup.lookups")
+                .description("X-ray 내용 해시 기반 중복 조회 결과")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("xray.dedup.lookups")
+                .description("X-ray 내용 해시 기반 중복 조회 결과")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    // 해당 환자의 같은 해시 이미지에 대해 이미 저장된 진단 결과 (가장 최근 것)
+    public Optional<DiagnosisResult> findReusableResult(String contentHash, Patient patient) {
+        Optional<DiagnosisResult> result = diagnosisResultRepository
+                .findFirstByXrayImage_ContentHashAndXrayImage_Patient_PatientIdOrderByResultIdDesc(
+                        contentHash, patient.getPatientId());
+        (result.isPresent() ? hitCounter : missCounter).increment();
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.be.service.ai;
+
+import com.example.be.dto.response.AiResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AiClient 앞단의 마이크로 배치 계층.
+ * 동시에 들어온 추론 요청을 window-ms 동안 또는 max-size 건까지 모아 한 번의 배치 요청으로 보내고,
+ * 결과를 기다리던 호출자에게 나눠준다. 비활성화 상태, 대기열 포화, 배치 실패 시에는 단건 경로를 사용한다.
+ */
+@Slf4j
+@Component
+public class AiBatchingClient {
+
+    private final AiClient aiClient;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingPrediction> queue;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public AiBatchingClient(AiClient aiClient,
+                            @Value("${ai.batch.enabled:false}") boolean enabled,
+                            @Value("${ai.batch.window-ms:20}") long windowMillis,
+                            @Value("${ai.batch.max-size:8}") int maxBatchSize,
+                            @Value("${ai.batch.queue-capacity:256}") int queueCapacity) {
+        this.aiClient = aiClient;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.collector = new Thread(this::collectLoop, "ai-batch-collector");
+        this.collector.setDaemon(true);
+        if (enabled) {
+            this.collector.start();
+        }
+    }
+
+    public AiResponseDto predict(String imageUrl) {
+        return AiClient.await(predictAsync(imageUrl));
+    }
+
+    public CompletableFuture<AiResponseDto> predictAsync(String imageUrl) {
+        if (!enabled) {
+            return aiClient.predictAsync(imageUrl);
+        }
+        PendingPrediction pending = new PendingPrediction(imageUrl, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return aiClient.predictAsync(imageUrl); // 대기열 포화 시 단건 경로
+        }
+        return pending.future();
+    }
+
+    private void collectLoop() {
+        while (running) {
+            try {
+                PendingPrediction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingPrediction> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingPrediction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("[AiBatch] 배치 수집 중 오류", e);
+            }
+        }
+    }
+
+    // 비동기 전송이므로 수집 스레드는 응답을 기다리지 않고 다음 배치를 모은다
+    private void send(List<PendingPrediction> batch) {
+        if (batch.size() == 1) {
+            predictSingle(batch.get(0));
+            return;
+        }
+        List<String> imageUrls = batch.stream().map(PendingPrediction::imageUrl).toList();
+        aiClient.predictBatchAsync(imageUrls).whenComplete((results, error) -> {
+            if (error == null) {
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future().complete(results.get(i));
+                }
+                return;
+            }
+            log.warn("[AiBatch] 배치 추론 실패 ({}건), 단건 요청으로 재시도: {}",
+                    batch.size(), AiClient.unwrap(error).getMessage());
+            batch.forEach(this::predictSingle);
+        });
+    }
+
+    private void predictSingle(PendingPrediction pending) {
+        aiClient.predictAsync(pending.imageUrl()).whenComplete((result, error) -> {
+            if (error == null) {
+                pending.future().complete(result);
+            } else {
+                pending.future().completeExceptionally(AiClient.unwrap(error));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        collector.interrupt();
+        PendingPrediction pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().completeExceptionally(new IllegalStateException("AI 배치 클라이언트가 종료되었습니다."));
+        }
+    }
+
+    private record PendingPrediction(String imageUrl, CompletableFuture<AiResponseDto> future) {
+    }
+}
@@ -1,41 +1,128 @@
 package com.example.be.service.ai;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import com.example.be.dto.response.AiBatchResponseDto;
 import com.example.be.dto.response.AiResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 @Component
 public class AiClient {
 
-    private final RestTemplate restTemplate;
+    private final CloseableHttpAsyncClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final AiInferenceBulkhead bulkhead;
 
     @Value("${ai.model-server.url}")
     private String modelServerUrl;
 
-    public AiClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    // 비어 있으면 {model-server.url}/batch 사용
+    @Value("${ai.model-server.batch-url:}")
+    private String modelServerBatchUrl;
+
+    public AiClient(CloseableHttpAsyncClient httpClient, ObjectMapper objectMapper, AiInferenceBulkhead bulkhead) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.bulkhead = bulkhead;
     }
 
     public AiResponseDto predict(String imageUrl) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        Map<String, String> body = Map.of("imageUrl", imageUrl);
+        return await(predictAsync(imageUrl));
+    }
+
+    // 응답을 기다리는 동안 호출 스레드를 점유하지 않음
+    public CompletableFuture<AiResponseDto> predictAsync(String imageUrl) {
+        return bulkhead.submit(() -> post(modelServerUrl, Map.of("imageUrl", imageUrl), AiResponseDto.class));
+    }
+
+    // 여러 이미지를 한 번의 요청으로 추론 (응답 순서 = 요청 순서)
+    public List<AiResponseDto> predictBatch(List<String> imageUrls) {
+        return await(predictBatchAsync(imageUrls));
+    }
+
+    public CompletableFuture<List<AiResponseDto>> predictBatchAsync(List<String> imageUrls) {
+        return bulkhead.submit(() -> post(batchUrl(), Map.of("imageUrls", imageUrls), AiBatchResponseDto.class))
+                .thenApply(batch -> {
+                    if (batch.getResults() == null || batch.getResults().size() != imageUrls.size()) {
+                        throw new IllegalStateException("AI 배치 응답 개수가 요청과 다릅니다.");
+                    }
+                    return batch.getResults();
+                });
+    }
+
+    private <T> CompletableFuture<T> post(String url, Object body, Class<T> responseType) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SimpleHttpRequest request;
+        try {
+            request = SimpleRequestBuilder.post(url)
+                    .setBody(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            future.completeExceptionally(new IllegalStateException("AI 요청 직렬화 실패: " + e.getMessage(), e));
+            return future;
+        }
+
+        httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                if (response.getCode() < 200 || response.getCode() >= 300) {
+                    future.completeExceptionally(new RestClientException("AI 서버 호출 실패: HTTP " + response.getCode()));
+                    return;
+                }
+                try {
+                    T parsed = objectMapper.readValue(response.getBodyBytes(), responseType);
+                    future.complete(Objects.requireNonNull(parsed, "AI response is null"));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(new RestClientException("AI 응답 파싱 실패: " + e.getMessage(), e));
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(new RestClientException("AI 서버 호출 실패: " + ex.getMessage(), ex));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
 
-        HttpEntity<Map<String, String>> req = new HttpEntity<>(body, headers);
+    private String batchUrl() {
+        if (modelServerBatchUrl != null && !modelServerBatchUrl.isBlank()) {
+            return modelServerBatchUrl;
+        }
+        return modelServerUrl.endsWith("/") ? modelServerUrl + "batch" : modelServerUrl + "/batch";
+    }
 
+    // 동기 호출자에게는 CompletionException 대신 원래 예외를 전달
+    static <T> T await(CompletableFuture<T> future) {
         try {
-            ResponseEntity<AiResponseDto> resp =
-                    restTemplate.postForEntity(modelServerUrl, req, AiResponseDto.class);
-            return Objects.requireNonNull(resp.getBody(), "AI response is null");
-        } catch (RestClientException e) {
-            throw new RuntimeException("AI 서버 호출 실패: " + e.getMessage(), e);
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
         }
     }
-}
 
+    static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.be.service.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 모델 서버 호출 벌크헤드 + 서킷 브레이커.
+ * 동시 호출은 max-concurrent 로 제한하고, 초과분은 queue-capacity 만큼만 max-wait-ms 동안 대기시킨다.
+ * 대기열이 가득 차면 429, 대기 시간 초과나 브레이커 OPEN 상태에서는 503으로 즉시 거절한다.
+ * RestClientException 이 연속 failure-threshold 번 발생하면 open-ms 동안 OPEN, 이후 1건을 시험 호출(HALF_OPEN)한다.
+ * 브레이커 상태는 시험 호출로 표시된 호출의 결과로만 CLOSED/OPEN 이 된다 (OPEN 이전에 시작된 호출의 완료는 무시).
+ */
+@Slf4j
+@Component
+public class AiInferenceBulkhead {
+
+    enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private enum Admission { REJECTED, NORMAL, TRIAL }
+
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final long maxWaitMillis;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter<?>> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final Counter queueFullRejections;
+    private final Counter waitTimeoutRejections;
+    private final Counter circuitOpenRejections;
+
+    public AiInferenceBulkhead(@Value("${ai.bulkhead.max-concurrent:16}") int maxConcurrent,
+                               @Value("${ai.bulkhead.queue-capacity:32}") int queueCapacity,
+                               @Value("${ai.bulkhead.max-wait-ms:10000}") long maxWaitMillis,
+                               @Value("${ai.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${ai.circuit-breaker.open-ms:30000}") long openMillis,
+                               MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMillis = maxWaitMillis;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+
+        Gauge.builder("ai.bulkhead.queue.depth", this, AiInferenceBulkhead::queueDepth)
+                .description("모델 서버 호출 대기 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.bulkhead.in-flight", this, AiInferenceBulkhead::inFlight)
+                .description("모델 서버로 진행 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.circuit-breaker.state", this, bulkhead -> bulkhead.circuitState().ordinal())
+                .description("모델 서버 서킷 브레이커 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        this.waitTimeoutRejections = rejectionCounter(meterRegistry, "wait_timeout");
+        this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit_open");
+    }
+
+    // 업로드 등 비싼 작업 전에 호출해 받아들일 수 없는 요청을 미리 거절
+    public void checkAdmission() {
+        lock.lock();
+        try {
+            if (state == CircuitState.OPEN && System.nanoTime() - openedAt < openNanos
+                    || state == CircuitState.HALF_OPEN && trialInFlight) {
+                circuitOpenRejections.increment();
+                throw circuitOpen();
+            }
+            if (inFlight >= maxConcurrent && waiters.size() >= queueCapacity) {
+                queueFullRejections.increment();
+                throw queueFull();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Admission admission;
+        lock.lock();
+        try {
+            admission = admitByCircuit();
+            if (admission == Admission.REJECTED) {
+                circuitOpenRejections.increment();
+                result.completeExceptionally(circuitOpen());
+                return result;
+            }
+            if (inFlight < maxConcurrent) {
+                inFlight++;
+            } else if (admission == Admission.TRIAL) {
+                // 시험 호출은 대기열에 넣지 않음 (permit 이 없으면 다음 요청이 다시 시험)
+                trialInFlight = false;
+                circuitOpenRejections.increment();
+                result.completeExceptionally(circuitOpen());
+                return result;
+            } else if (waiters.size() < queueCapacity) {
+                Waiter<T> waiter = new Waiter<>(call, result);
+                waiters.addLast(waiter);
+                CompletableFuture.delayedExecutor(maxWaitMillis, TimeUnit.MILLISECONDS).execute(() -> expire(waiter));
+                return result;
+            } else {
+                queueFullRejections.increment();
+                result.completeExceptionally(queueFull());
+                return result;
+            }
+        } finally {
+            lock.unlock();
+        }
+        start(call, result, admission == Admission.TRIAL);
+        return result;
+    }
+
+    // lock 보유 상태에서 호출. HALF_OPEN 에서는 시험 호출 1건만 TRIAL 로 허용
+    private Admission admitByCircuit() {
+        if (state == CircuitState.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return Admission.REJECTED;
+            }
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = false;
+            log.info("[AiBulkhead] 서킷 브레이커 HALF_OPEN: 시험 호출 허용");
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) {
+                return Admission.REJECTED;
+            }
+            trialInFlight = true;
+            return Admission.TRIAL;
+        }
+        return Admission.NORMAL;
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result, boolean trial) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            release(error == null ? null : AiClient.unwrap(error), trial);
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(AiClient.unwrap(error));
+            }
+        });
+    }
+
+    // 호출 완료: 브레이커 상태 갱신 후 permit 을 다음 대기자에게 넘기거나 반납
+    private void release(Throwable error, boolean trial) {
+        Waiter<?> next = null;
+        boolean nextTrial = false;
+        List<Waiter<?>> rejected = List.of();
+        lock.lock();
+        try {
+            if (trial) {
+                onTrialComplete(error);
+            } else if (state == CircuitState.CLOSED) {
+                onCallComplete(error);
+            }
+            // OPEN / HALF_OPEN 중에 끝난 일반 호출은 브레이커 이전에 시작된 것이므로 상태에 반영하지 않음
+
+            if (state == CircuitState.CLOSED) {
+                next = waiters.pollFirst();
+            } else {
+                // 브레이커가 닫혀 있지 않으면 대기자는 시험 호출 1건만 남기고 거절
+                if (state == CircuitState.HALF_OPEN && !trialInFlight && !waiters.isEmpty()) {
+                    next = waiters.pollFirst();
+                    nextTrial = true;
+                    trialInFlight = true;
+                }
+                if (!waiters.isEmpty()) {
+                    rejected = new ArrayList<>(waiters);
+                    waiters.clear();
+                }
+            }
+            if (next == null) {
+                inFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Waiter<?> waiter : rejected) {
+            circuitOpenRejections.increment();
+            waiter.result().completeExceptionally(circuitOpen());
+        }
+        if (next != null) {
+            next.start(this, nextTrial);
+        }
+    }
+
+    // lock 보유 상태에서 호출. 시험 호출 결과로만 HALF_OPEN → CLOSED/OPEN 전환
+    private void onTrialComplete(Throwable error) {
+        trialInFlight = false;
+        if (state != CircuitState.HALF_OPEN) {
+            return;
+        }
+        if (error instanceof RestClientException) {
+            consecutiveFailures++;
+            open(error);
+        } else if (error == null) {
+            consecutiveFailures = 0;
+            state = CircuitState.CLOSED;
+            log.info("[AiBulkhead] 서킷 브레이커 CLOSED");
+        }
+        // 그 외 오류(모델 서버 장애와 무관)는 HALF_OPEN 을 유지하고 다음 요청이 다시 시험
+    }
+
+    // lock 보유 상태(CLOSED)에서 호출
+    private void onCallComplete(Throwable error) {
+        if (error instanceof RestClientException) {
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                open(error);
+            }
+        } else if (error == null) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    private void open(Throwable error) {
+        log.warn("[AiBulkhead] 서킷 브레이커 OPEN: 연속 실패 {}회 ({})", consecutiveFailures, error.getMessage());
+        state = CircuitState.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void expire(Waiter<?> waiter) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            waitTimeoutRejections.increment();
+            waiter.result().completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "AI 분석 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요."));
+        }
+    }
+
+    int queueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CircuitState circuitState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ResponseStatusException queueFull() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "AI 분석 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static ResponseStatusException circuitOpen() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "AI 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ai.bulkhead.rejections")
+                .description("모델 서버 호출 거절 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Waiter<T>(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+        void start(AiInferenceBulkhead bulkhead, boolean trial) {
+            bulkhead.start(call, result, trial);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.be.service.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+// 한글 음절 → 호환 자모 분해 (입력 중인 "김ㅁ", "ㄱㅁㅅ" 같은 부분 음절/초성 검색용)
+final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    // 겹모음 / 겹받침은 낱자로 풀어 "닭" 을 입력하는 도중의 "달" 도 일치하도록 함
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ",
+            "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    // 검색어에 단독으로 입력된 겹자모
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"), Map.entry('ㄺ', "ㄹㄱ"),
+            Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"), Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"),
+            Map.entry('ㄿ', "ㄹㅍ"), Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"), Map.entry('ㅘ', "ㅗㅏ"),
+            Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"), Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"),
+            Map.entry('ㅟ', "ㅜㅣ"), Map.entry('ㅢ', "ㅡㅣ")
+    );
+
+    private HangulJamo() {
+    }
+
+    // NFC 정규화 + 소문자 + 공백 제거
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(composed.length());
+        composed.codePoints()
+                .filter(cp -> !Character.isWhitespace(cp))
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    // 정규화된 문자열의 음절을 자모로 분해 (한글 외 문자는 그대로)
+    static String decompose(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (isSyllable(c)) {
+                int index = c - SYLLABLE_BASE;
+                sb.append(CHO.charAt(index / (JUNG_COUNT * JONG_COUNT)))
+                        .append(JUNG[(index % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT])
+                        .append(JONG[index % JONG_COUNT]);
+            } else {
+                sb.append(COMPOUND_JAMO.getOrDefault(c, String.valueOf(c)));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 음절마다 초성만 남긴 문자열 (한글 외 문자는 그대로)
+    static String choseong(String normalized) {
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            sb.append(isSyllable(c) ? CHO.charAt((c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)) : c);
+        }
+        return sb.toString();
+    }
+
+    // 검색어가 초성 자음으로만 이루어졌는지 (예: "ㄱㅁㅅ")
+    static boolean isChoseongOnly(String normalized) {
+        if (normalized.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            if (CHO.indexOf(normalized.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.be.service.search;
+
+import com.example.be.entity.Patient;
+
+import java.time.LocalDate;
+
+// 검색 색인에 보관하는 환자 필드 스냅샷 (엔티티/영속성 컨텍스트와 분리)
+public record PatientSearchDocument(Integer patientId,
+                                    Integer memberId,
+                                    String name,
+                                    String patientCode,
+                                    String anonymousId,
+                                    String country,
+                                    String gender,
+                                    LocalDate birthDate) {
+
+    public static PatientSearchDocument from(Patient patient) {
+        return new PatientSearchDocument(
+                patient.getPatientId(),
+                patient.getMember() != null ? patient.getMember().getId() : null,
+                patient.getName(),
+                patient.getPatientCode(),
+                patient.getAnonymousId(),
+                patient.getCountry(),
+                patient.getGender(),
+                patient.getBirthDate());
+    }
+}
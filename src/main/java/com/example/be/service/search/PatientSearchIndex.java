@@ -0,0 +1,378 @@
+package com.example.be.service.search;
+
+import com.example.be.entity.Patient;
+import com.example.be.repository.PatientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 환자 검색용 인메모리 역색인 (회원별).
+ * 이름 / 환자 코드 / 익명 ID / 국가를 자모 단위로 분해해 1-gram, 2-gram 을 색인하고
+ * 후보를 posting 교집합으로 좁힌 뒤 부분 문자열로 재확인한다. 초성만 입력하면 초성 문자열 색인을 사용한다.
+ * - 환자 저장/수정/삭제는 PatientSearchIndexListener 가 커밋 후 반영한다.
+ * - 다른 인스턴스에서 변경된 환자도 반영되도록 rebuild-interval-ms 마다 DB 에서 전체를 다시 읽어 교체한다.
+ */
+@Slf4j
+@Component
+public class PatientSearchIndex implements SmartInitializingSingleton {
+
+    private static final int SCORE_EXACT = 3;
+    private static final int SCORE_PREFIX = 2;
+    private static final int SCORE_CONTAINS = 1;
+
+    private final PatientRepository patientRepository;
+    private final int rebuildBatchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData data = new IndexData();
+    // 재색인 중 들어온 변경분 (재색인이 끝나면 새 색인에 다시 적용)
+    private List<Consumer<IndexData>> pendingDuringRebuild;
+
+    public PatientSearchIndex(PatientRepository patientRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${patient.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.patientRepository = patientRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+        Gauge.builder("patient.search.index.size", this, PatientSearchIndex::size)
+                .description("검색 색인에 올라간 환자 수")
+                .register(meterRegistry);
+    }
+
+    // 웹 서버가 요청을 받기 전에 첫 색인을 만든다
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${patient.search.rebuild-interval-ms:600000}",
+            fixedDelayString = "${patient.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData rebuilt = new IndexData();
+        try {
+            Integer afterId = 0;
+            List<Patient> batch;
+            do {
+                batch = patientRepository.findSearchIndexBatch(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (Patient patient : batch) {
+                    rebuilt.put(PatientSearchDocument.from(patient));
+                    afterId = patient.getPatientId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("[PatientSearch] 색인 재구성 실패, 기존 색인 유지", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            data = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[PatientSearch] 색인 재구성 완료: {}명", rebuilt.ownerByPatient.size());
+    }
+
+    public void put(PatientSearchDocument document) {
+        if (document.patientId() == null || document.memberId() == null) {
+            return;
+        }
+        afterCommit(index -> index.put(document));
+    }
+
+    public void remove(Integer patientId) {
+        if (patientId == null) {
+            return;
+        }
+        afterCommit(index -> index.remove(patientId));
+    }
+
+    /**
+     * 회원의 환자 중 조건에 맞는 환자 ID 를 관련도순(정확 > 접두 > 부분 일치), 같으면 최근 등록순으로 반환.
+     * query 의 공백으로 나뉜 각 단어가 모두 어느 한 필드에 포함돼야 한다. query 가 비어 있으면 필터만 적용한다.
+     */
+    public List<Integer> search(Integer memberId, String query, String gender, LocalDate birthDate, String country) {
+        List<String> terms = query == null ? List.of()
+                : Arrays.stream(query.trim().split("\\s+"))
+                .map(HangulJamo::normalize)
+                .filter(term -> !term.isEmpty())
+                .toList();
+        String countryKey = country != null && !country.isBlank() ? HangulJamo.normalize(country) : null;
+
+        lock.readLock().lock();
+        try {
+            MemberIndex memberIndex = data.members.get(memberId);
+            if (memberIndex == null) {
+                return List.of();
+            }
+            Collection<Integer> candidates = terms.isEmpty()
+                    ? memberIndex.entries.keySet()
+                    : memberIndex.candidates(terms);
+
+            Map<Integer, Integer> scores = new HashMap<>();
+            for (Integer patientId : candidates) {
+                Entry entry = memberIndex.entries.get(patientId);
+                if (!entry.matchesFilters(gender, birthDate, countryKey)) {
+                    continue;
+                }
+                int score = entry.score(terms);
+                if (score >= 0) {
+                    scores.put(patientId, score);
+                }
+            }
+            List<Integer> result = new ArrayList<>(scores.keySet());
+            result.sort(Comparator.<Integer>comparingInt(scores::get).reversed()
+                    .thenComparing(Comparator.reverseOrder()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.ownerByPatient.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후에 반영해 롤백된 변경이 검색되지 않도록 한다
+    private void afterCommit(Consumer<IndexData> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class IndexData {
+        private final Map<Integer, MemberIndex> members = new HashMap<>();
+        private final Map<Integer, Integer> ownerByPatient = new HashMap<>();
+
+        void put(PatientSearchDocument document) {
+            remove(document.patientId());
+            members.computeIfAbsent(document.memberId(), id -> new MemberIndex()).put(new Entry(document));
+            ownerByPatient.put(document.patientId(), document.memberId());
+        }
+
+        void remove(Integer patientId) {
+            Integer memberId = ownerByPatient.remove(patientId);
+            if (memberId == null) {
+                return;
+            }
+            MemberIndex memberIndex = members.get(memberId);
+            memberIndex.remove(patientId);
+            if (memberIndex.entries.isEmpty()) {
+                members.remove(memberId);
+            }
+        }
+    }
+
+    private static final class MemberIndex {
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private final Map<String, Set<Integer>> jamoPostings = new HashMap<>();
+        private final Map<String, Set<Integer>> choseongPostings = new HashMap<>();
+
+        void put(Entry entry) {
+            entries.put(entry.document.patientId(), entry);
+            for (int i = 0; i < entry.jamoKeys.length; i++) {
+                for (String gram : grams(entry.jamoKeys[i])) {
+                    jamoPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.document.patientId());
+                }
+                for (String gram : grams(entry.choseongKeys[i])) {
+                    choseongPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.document.patientId());
+                }
+            }
+        }
+
+        void remove(Integer patientId) {
+            Entry entry = entries.remove(patientId);
+            if (entry == null) {
+                return;
+            }
+            for (int i = 0; i < entry.jamoKeys.length; i++) {
+                removePostings(jamoPostings, grams(entry.jamoKeys[i]), patientId);
+                removePostings(choseongPostings, grams(entry.choseongKeys[i]), patientId);
+            }
+        }
+
+        // 모든 단어의 후보 교집합 (단어별로는 자모 색인 ∪ 초성 색인)
+        Set<Integer> candidates(List<String> terms) {
+            Set<Integer> result = null;
+            for (String term : terms) {
+                Set<Integer> termCandidates = new HashSet<>(lookup(jamoPostings, HangulJamo.decompose(term)));
+                if (HangulJamo.isChoseongOnly(term)) {
+                    termCandidates.addAll(lookup(choseongPostings, term));
+                }
+                if (result == null) {
+                    result = termCandidates;
+                } else {
+                    result.retainAll(termCandidates);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result == null ? Set.of() : result;
+        }
+
+        private static Set<Integer> lookup(Map<String, Set<Integer>> postings, String key) {
+            List<Set<Integer>> sets = new ArrayList<>();
+            for (String gram : queryGrams(key)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    return Set.of();
+                }
+                sets.add(posting);
+            }
+            if (sets.isEmpty()) {
+                return Set.of();
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+            Set<Integer> result = new HashSet<>(sets.get(0));
+            for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+                result.retainAll(sets.get(i));
+            }
+            return result;
+        }
+
+        private static void removePostings(Map<String, Set<Integer>> postings, Set<String> grams, Integer patientId) {
+            for (String gram : grams) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting != null && posting.remove(patientId) && posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        // 색인: 1-gram + 2-gram
+        private static Set<String> grams(String key) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i < key.length(); i++) {
+                grams.add(key.substring(i, i + 1));
+                if (i + 1 < key.length()) {
+                    grams.add(key.substring(i, i + 2));
+                }
+            }
+            return grams;
+        }
+
+        // 조회: 한 글자면 1-gram, 그 외에는 2-gram 전부
+        private static List<String> queryGrams(String key) {
+            if (key.length() <= 1) {
+                return key.isEmpty() ? List.of() : List.of(key);
+            }
+            List<String> grams = new ArrayList<>(key.length() - 1);
+            for (int i = 0; i + 1 < key.length(); i++) {
+                grams.add(key.substring(i, i + 2));
+            }
+            return grams;
+        }
+    }
+
+    private static final class Entry {
+        private final PatientSearchDocument document;
+        private final String[] jamoKeys;
+        private final String[] choseongKeys;
+        private final String countryKey;
+
+        Entry(PatientSearchDocument document) {
+            this.document = document;
+            String[] normalized = {
+                    HangulJamo.normalize(document.name()),
+                    HangulJamo.normalize(document.patientCode()),
+                    HangulJamo.normalize(document.anonymousId()),
+                    HangulJamo.normalize(document.country())
+            };
+            this.jamoKeys = new String[normalized.length];
+            this.choseongKeys = new String[normalized.length];
+            for (int i = 0; i < normalized.length; i++) {
+                jamoKeys[i] = HangulJamo.decompose(normalized[i]);
+                choseongKeys[i] = HangulJamo.choseong(normalized[i]);
+            }
+            this.countryKey = normalized[3];
+        }
+
+        boolean matchesFilters(String gender, LocalDate birthDate, String countryFilter) {
+            return (gender == null || gender.equalsIgnoreCase(document.gender()))
+                    && (birthDate == null || birthDate.equals(document.birthDate()))
+                    && (countryFilter == null || countryFilter.equals(countryKey));
+        }
+
+        // 단어마다 가장 잘 맞는 필드 점수의 합. 일치하지 않는 단어가 있으면 -1 (posting 후보의 오탐 제거)
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = Math.max(
+                        bestScore(jamoKeys, HangulJamo.decompose(term)),
+                        HangulJamo.isChoseongOnly(term) ? bestScore(choseongKeys, term) : 0);
+                if (best == 0) {
+                    return -1;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int bestScore(String[] keys, String term) {
+            int best = 0;
+            for (String key : keys) {
+                if (key.equals(term)) {
+                    return SCORE_EXACT;
+                }
+                if (key.startsWith(term)) {
+                    best = Math.max(best, SCORE_PREFIX);
+                } else if (key.contains(term)) {
+                    best = Math.max(best, SCORE_CONTAINS);
+                }
+            }
+            return best;
+        }
+    }
+}
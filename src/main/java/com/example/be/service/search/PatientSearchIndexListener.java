@@ -0,0 +1,29 @@
+package com.example.be.service.search;
+
+import com.example.be.entity.Patient;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Patient 엔티티 리스너 (Hibernate 가 SpringBeanContainer 로 생성).
+// 색인 빈이 없는 슬라이스 테스트(@DataJpaTest 등)에서는 아무 것도 하지 않는다.
+public class PatientSearchIndexListener {
+
+    private final ObjectProvider<PatientSearchIndex> searchIndex;
+
+    public PatientSearchIndexListener(ObjectProvider<PatientSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Patient patient) {
+        searchIndex.ifAvailable(index -> index.put(PatientSearchDocument.from(patient)));
+    }
+
+    @PostRemove
+    public void onRemove(Patient patient) {
+        searchIndex.ifAvailable(index -> index.remove(patient.getPatientId()));
+    }
+}
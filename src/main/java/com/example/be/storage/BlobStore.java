@@ -0,0 +1,17 @@
+package com.example.be.storage;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * X-ray/Grad-CAM 등 바이너리 저장소 SPI.
+ * storage.type 설정(gcs | local)에 따라 구현체가 하나만 등록된다.
+ */
+public interface BlobStore {
+
+    // source 채널을 끝까지 읽어 key 위치에 저장하고 저장된 바이트 수를 반환
+    long write(String key, ReadableByteChannel source, String contentType) throws IOException;
+
+    // 클라이언트가 이미지를 내려받을 수 있는 URL
+    String publicUrl(String key);
+}
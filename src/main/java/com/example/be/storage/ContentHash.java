@@ -0,0 +1,44 @@
+package com.example.be.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// 업로드 파일의 SHA-256 (content-addressed 저장 key 및 중복 판별용)
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다.", e);
+        }
+    }
+
+    // 문자열(UTF-8) 해시 계산 (긴 TEXT 값을 고정 길이 key로 색인할 때 사용)
+    public static String sha256Hex(String text) {
+        return HexFormat.of().formatHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 스트림을 끝까지 읽으며 해시 계산 (파일 전체를 메모리에 올리지 않음)
+    public static String sha256Hex(InputStream in) throws IOException {
+        return copyAndHash(in, OutputStream.nullOutputStream());
+    }
+
+    // 스트림을 out으로 복사하면서 동시에 해시 계산
+    public static String copyAndHash(InputStream in, OutputStream out) throws IOException {
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+            digestIn.transferTo(out);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
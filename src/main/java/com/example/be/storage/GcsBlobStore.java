@@ -0,0 +1,96 @@
+package com.example.be.storage;
+
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GCS(Firebase Storage) 저장소. resumable 업로드(WriteChannel)로 청크 단위 전송하며,
+ * 동시 업로드 수만큼으로 제한된 direct 버퍼 풀을 재사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "gcs", matchIfMissing = true)
+public class GcsBlobStore implements BlobStore {
+
+    private final Storage storage;
+    private final String bucketName;
+    private final int chunkSize;
+    private final int bufferSize;
+    private final Semaphore bufferPermits;
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+
+    public GcsBlobStore(Storage storage,
+                        @Value("${firebase.bucket-name}") String bucketName,
+                        @Value("${storage.upload.chunk-size:4194304}") int chunkSize,      // GCS 규칙상 256KiB 배수
+                        @Value("${storage.upload.buffer-size:262144}") int bufferSize,
+                        @Value("${storage.upload.max-concurrent:8}") int maxConcurrentUploads) {
+        this.storage = storage;
+        this.bucketName = bucketName;
+        this.chunkSize = chunkSize;
+        this.bufferSize = bufferSize;
+        this.bufferPermits = new Semaphore(maxConcurrentUploads);
+    }
+
+    @Override
+    public long write(String key, ReadableByteChannel source, String contentType) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                .setContentType(contentType)
+                .build();
+
+        long totalBytes = 0;
+        ByteBuffer buffer = acquireBuffer();
+        try (WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(chunkSize);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    totalBytes += writer.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+        return totalBytes;
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        String encodedPath = URLEncoder.encode(key, StandardCharsets.UTF_8);
+        return "https://firebasestorage.googleapis.com/v0/b/" + bucketName + "/o/" + encodedPath + "?alt=media";
+    }
+
+    // 동시 업로드 수를 넘으면 버퍼가 반납될 때까지 대기 (direct 메모리 사용량 상한 = max-concurrent * buffer-size)
+    private ByteBuffer acquireBuffer() throws IOException {
+        try {
+            if (!bufferPermits.tryAcquire(30, TimeUnit.SECONDS)) {
+                throw new IOException("업로드 버퍼를 확보하지 못했습니다. 동시 업로드가 너무 많습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("업로드 버퍼 대기 중 인터럽트되었습니다.", e);
+        }
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        bufferPool.offer(buffer);
+        bufferPermits.release();
+    }
+}
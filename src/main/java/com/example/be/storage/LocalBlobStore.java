@@ -0,0 +1,88 @@
+package com.example.be.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 디스크 저장소 (부하 테스트 / 온프레미스 배포용).
+ * 쓰기는 FileChannel.transferFrom, 읽기는 LocalBlobController에서 sendfile/transferTo로 처리한다.
+ * 같은 디렉터리의 임시 파일에 끝까지 쓴 뒤 원자적으로 이름을 바꾸므로, 최종 key 경로에는 완성된 파일만 보인다.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+    private final Path rootDir;
+    private final String publicBaseUrl;
+
+    public LocalBlobStore(@Value("${storage.local.root-dir:./blob-store}") String rootDir,
+                          @Value("${storage.local.public-base-url:/api/v1/images}") String publicBaseUrl) throws IOException {
+        this.rootDir = Files.createDirectories(Paths.get(rootDir)).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl;
+    }
+
+    @Override
+    public long write(String key, ReadableByteChannel source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // content-addressed key는 같은 key = 같은 내용이고, 최종 경로는 이름 바꾸기로만 생기므로 있으면 완성된 파일
+        if (Files.exists(target)) {
+            return Files.size(target);
+        }
+
+        Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        long position = 0;
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                // source가 FileChannel이면 커널 내 복사, 스트림이면 내부 버퍼로 복사
+                while ((transferred = out.transferFrom(source, position, 1L << 20)) > 0) {
+                    position += transferred;
+                }
+                out.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // 같은 내용을 동시에 올린 다른 요청이 먼저 옮김
+                Files.deleteIfExists(temp);
+                return Files.size(target);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return position;
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        StringBuilder url = new StringBuilder(publicBaseUrl);
+        for (String segment : key.split("/")) {
+            url.append('/').append(URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        return url.toString();
+    }
+
+    // key를 루트 디렉터리 기준 경로로 변환 (루트 밖 접근 차단)
+    public Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir)) {
+            throw new SecurityException("허용되지 않은 저장소 경로입니다: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.be.service;
+
+import com.example.be.dto.PatientDto;
+import com.example.be.dto.request.SignUpRequestDto;
+import com.example.be.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PatientDetailsReader.class)
+class PatientDetailsReaderTest {
+
+    private static final int PATIENTS = 20;
+    private static final int XRAYS_PER_PATIENT = 3;
+    private static final int COMMENTS_PER_RESULT = 2;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PatientDetailsReader patientDetailsReader;
+
+    @Test
+    void readAllRunsConstantNumberOfQueries() {
+        Member member = persistMember();
+        for (int i = 0; i < PATIENTS; i++) {
+            persistPatientGraph(member, i);
+        }
+        em.flush();
+        em.clear();
+
+        List<Patient> patients = em.getEntityManager()
+                .createQuery("SELECT p FROM Patient p ORDER BY p.patientId", Patient.class)
+                .getResultList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<PatientDto> result = patientDetailsReader.readAll(patients);
+
+        // X-ray(+진단 결과) 1회 + 소견(+작성자) 1회
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(result).hasSize(PATIENTS);
+        assertThat(result).allSatisfy(patient -> {
+            assertThat(patient.getXrayImages()).hasSize(XRAYS_PER_PATIENT);
+            assertThat(patient.getXrayImages()).allSatisfy(xray -> {
+                assertThat(xray.getDiagnosisResult()).isNotNull();
+                assertThat(xray.getDiagnosisResult().getPatientId()).isEqualTo(patient.getPatientId());
+                assertThat(xray.getDiagnosisResult().getComments()).hasSize(COMMENTS_PER_RESULT)
+                        .allSatisfy(comment -> assertThat(comment.getMemberNickname()).isEqualTo("doctor"));
+            });
+        });
+    }
+
+    private Member persistMember() {
+        SignUpRequestDto dto = new SignUpRequestDto();
+        dto.setEmail("doctor@example.com");
+        dto.setPassword("encoded");
+        dto.setNickname("doctor");
+        return em.persist(new Member(dto));
+    }
+
+    private void persistPatientGraph(Member member, int index) {
+        Patient patient = em.persist(Patient.builder()
+                .patientCode("P-" + index)
+                .name("patient" + index)
+                .birthDate(LocalDate.of(1980, 1, 1))
+                .member(member)
+                .build());
+
+        for (int j = 0; j < XRAYS_PER_PATIENT; j++) {
+            XrayImage xrayImage = em.persist(XrayImage.builder()
+                    .patient(patient)
+                    .member(member)
+                    .imageUrl("https://example.com/" + index + "/" + j)
+                    .fileName("xray.png")
+                    .build());
+            DiagnosisResult result = em.persist(DiagnosisResult.builder()
+                    .xrayImage(xrayImage)
+                    .predictedDisease("Pneumonia")
+                    .probability(0.5f)
+                    .build());
+            for (int k = 0; k < COMMENTS_PER_RESULT; k++) {
+                em.persist(Comment.builder()
+                        .diagnosisResult(result)
+                        .member(member)
+                        .content("opinion " + k)
+                        .build());
+            }
+        }
+    }
+}
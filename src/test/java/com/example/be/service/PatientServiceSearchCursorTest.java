@@ -0,0 +1,38 @@
+package com.example.be.service;
+
+import com.example.be.entity.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientServiceSearchCursorTest {
+
+    private PatientService patientService;
+
+    @BeforeEach
+    void setUp() {
+        CurrentMemberProvider currentMemberProvider = mock(CurrentMemberProvider.class);
+        when(currentMemberProvider.get()).thenReturn(
+                new Member(1, "doctor@example.com", "encoded", "doctor", true, null, null));
+        // 커서는 색인/DB 조회 전에 검증되므로 나머지 의존성은 필요 없음
+        patientService = new PatientService(null, currentMemberProvider, null, null, null, null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-1", "-2147483648", "abc", "20|7"})
+    void rejectsInvalidSearchCursor(String rawCursor) {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> patientService.searchPatients("kim", null, null, null, cursor, 20, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 커서입니다.");
+    }
+}
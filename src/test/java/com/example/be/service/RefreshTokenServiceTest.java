@@ -0,0 +1,111 @@
+package com.example.be.service;
+
+import com.example.be.entity.RefreshToken;
+import com.example.be.repository.RefreshTokenRepository;
+import com.example.be.storage.ContentHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    private static final int MEMBER_ID = 1;
+    private static final long TTL_SECONDS = 3600;
+    private static final long GRACE_SECONDS = 10;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = newService(TTL_SECONDS);
+    }
+
+    @Test
+    void rotationMarksOldTokenUsedAndIssuesTokenInSameFamily() {
+        String issued = refreshTokenService.issue(MEMBER_ID);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued).orElseThrow();
+        em.flush();
+        em.clear();
+
+        RefreshToken old = find(issued);
+        RefreshToken next = find(rotation.refreshToken());
+        assertThat(rotation.memberId()).isEqualTo(MEMBER_ID);
+        assertThat(rotation.refreshToken()).isNotEqualTo(issued);
+        assertThat(old.getUsedAt()).isNotNull();
+        assertThat(next.getUsedAt()).isNull();
+        assertThat(next.getFamilyId()).isEqualTo(old.getFamilyId());
+    }
+
+    @Test
+    void replayWithinGraceWindowReissuesInSameFamily() {
+        String issued = refreshTokenService.issue(MEMBER_ID);
+        refreshTokenService.rotate(issued).orElseThrow();
+        em.flush();
+        em.clear();
+
+        Optional<RefreshTokenService.Rotation> replay = refreshTokenService.rotate(issued);
+        em.flush();
+        em.clear();
+
+        assertThat(replay).isPresent();
+        assertThat(find(replay.get().refreshToken()).getFamilyId()).isEqualTo(find(issued).getFamilyId());
+    }
+
+    @Test
+    void replayAfterGraceWindowRevokesWholeFamily() {
+        String issued = refreshTokenService.issue(MEMBER_ID);
+        String rotated = refreshTokenService.rotate(issued).orElseThrow().refreshToken();
+        em.flush();
+        String familyId = find(issued).getFamilyId();
+        // 사용 시각을 grace 이전으로 되돌림
+        em.getEntityManager()
+                .createQuery("UPDATE RefreshToken r SET r.usedAt = :usedAt WHERE r.usedAt IS NOT NULL")
+                .setParameter("usedAt", LocalDateTime.now().minusSeconds(GRACE_SECONDS + 60))
+                .executeUpdate();
+        em.clear();
+
+        assertThat(refreshTokenService.rotate(issued)).isEmpty();
+        em.flush();
+        em.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash(ContentHash.sha256Hex(rotated))).isEmpty();
+        assertThat(refreshTokenRepository.findAll())
+                .noneMatch(token -> token.getFamilyId().equals(familyId));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String issued = newService(-1).issue(MEMBER_ID);
+        em.flush();
+        em.clear();
+
+        assertThat(refreshTokenService.rotate(issued)).isEmpty();
+        em.flush();
+        em.clear();
+        assertThat(find(issued).getUsedAt()).isNull();
+    }
+
+    private RefreshTokenService newService(long ttlSeconds) {
+        return new RefreshTokenService(refreshTokenRepository, new SimpleMeterRegistry(), ttlSeconds, GRACE_SECONDS);
+    }
+
+    private RefreshToken find(String rawToken) {
+        return refreshTokenRepository.findByTokenHash(ContentHash.sha256Hex(rawToken)).orElseThrow();
+    }
+}
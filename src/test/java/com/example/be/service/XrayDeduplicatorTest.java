@@ -0,0 +1,92 @@
+package com.example.be.service;
+
+import com.example.be.dto.request.SignUpRequestDto;
+import com.example.be.entity.*;
+import com.example.be.repository.DiagnosisResultRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class XrayDeduplicatorTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private DiagnosisResultRepository diagnosisResultRepository;
+
+    private XrayDeduplicator xrayDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        xrayDeduplicator = new XrayDeduplicator(diagnosisResultRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reusesResultOfSamePatient() {
+        Member member = persistMember("doctor@example.com");
+        Patient patient = persistPatient(member, "P-1");
+        DiagnosisResult existing = persistResult(member, patient);
+        em.flush();
+        em.clear();
+
+        assertThat(xrayDeduplicator.findReusableResult(HASH, patient))
+                .get()
+                .extracting(DiagnosisResult::getResultId)
+                .isEqualTo(existing.getResultId());
+    }
+
+    @Test
+    void hashMatchOnAnotherMembersPatientIsMiss() {
+        Member owner = persistMember("owner@example.com");
+        persistResult(owner, persistPatient(owner, "P-1"));
+        Member other = persistMember("other@example.com");
+        Patient otherPatient = persistPatient(other, "P-2");
+        em.flush();
+        em.clear();
+
+        assertThat(xrayDeduplicator.findReusableResult(HASH, otherPatient)).isEmpty();
+    }
+
+    private Member persistMember(String email) {
+        SignUpRequestDto dto = new SignUpRequestDto();
+        dto.setEmail(email);
+        dto.setPassword("encoded");
+        dto.setNickname("doctor");
+        return em.persist(new Member(dto));
+    }
+
+    private Patient persistPatient(Member member, String patientCode) {
+        return em.persist(Patient.builder()
+                .patientCode(patientCode)
+                .name("patient")
+                .birthDate(LocalDate.of(1980, 1, 1))
+                .member(member)
+                .build());
+    }
+
+    private DiagnosisResult persistResult(Member member, Patient patient) {
+        XrayImage xrayImage = em.persist(XrayImage.builder()
+                .patient(patient)
+                .member(member)
+                .imageUrl("https://example.com/xray.png")
+                .fileName("xray.png")
+                .contentHash(HASH)
+                .build());
+        return em.persist(DiagnosisResult.builder()
+                .xrayImage(xrayImage)
+                .predictedDisease("Pneumonia")
+                .probability(0.5f)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.be.service.ai;
+
+import com.example.be.dto.response.AiResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiBatchingClientTest {
+
+    private static final int CALLERS = 8;
+
+    private AiModelServerStub stub;
+    private CloseableHttpAsyncClient httpClient;
+    private AiBatchingClient batchingClient;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new AiModelServerStub();
+        httpClient = HttpAsyncClients.createDefault();
+        httpClient.start();
+        AiClient aiClient = new AiClient(httpClient, new ObjectMapper(),
+                new AiInferenceBulkhead(16, 32, 10_000, 5, 30_000, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(aiClient, "modelServerUrl", stub.predictUrl());
+        batchingClient = new AiBatchingClient(aiClient, true, 200, CALLERS, 64);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        callers.shutdownNow();
+        batchingClient.shutdown();
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    void concurrentPredictionsAreSentAsOneBatchAndFannedOut() throws Exception {
+        List<String> results = predictConcurrently();
+
+        assertThat(results).containsExactlyInAnyOrderElementsOf(imageUrls());
+        assertThat(stub.singleCalls.get()).isZero();
+        assertThat(stub.batchCalls.get()).isLessThan(CALLERS);
+        assertThat(stub.batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    void failedBatchFallsBackToSingleRequests() throws Exception {
+        stub.failBatch = true;
+
+        List<String> results = predictConcurrently();
+
+        assertThat(results).containsExactlyInAnyOrderElementsOf(imageUrls());
+        assertThat(stub.singleCalls.get()).isEqualTo(CALLERS);
+    }
+
+    private List<String> predictConcurrently() throws Exception {
+        List<Future<AiResponseDto>> futures = new ArrayList<>();
+        for (String imageUrl : imageUrls()) {
+            futures.add(callers.submit(() -> batchingClient.predict(imageUrl)));
+        }
+        List<String> results = new ArrayList<>();
+        for (Future<AiResponseDto> future : futures) {
+            results.add(future.get().getPredictedDisease());
+        }
+        return results;
+    }
+
+    private List<String> imageUrls() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            urls.add("https://example.com/xray-" + i + ".png");
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.be.service.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiInferenceBulkheadTest {
+
+    @Test
+    void callStartedBeforeOpenDoesNotEndHalfOpenTrial() {
+        // 실패 1회로 OPEN, open-ms 0 이라 다음 요청이 곧바로 시험 호출
+        AiInferenceBulkhead bulkhead = new AiInferenceBulkhead(4, 0, 1_000, 1, 0, new SimpleMeterRegistry());
+
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        bulkhead.submit(() -> stale);
+        bulkhead.submit(() -> CompletableFuture.<String>failedFuture(new RestClientException("down")));
+        assertThat(bulkhead.circuitState()).isEqualTo(AiInferenceBulkhead.CircuitState.OPEN);
+
+        CompletableFuture<String> trial = new CompletableFuture<>();
+        CompletableFuture<String> trialResult = bulkhead.submit(() -> trial);
+        assertThat(bulkhead.circuitState()).isEqualTo(AiInferenceBulkhead.CircuitState.HALF_OPEN);
+
+        // OPEN 이전에 시작된 호출이 성공해도 브레이커를 닫거나 시험 호출을 추가로 허용하지 않음
+        stale.complete("stale");
+        assertThat(bulkhead.circuitState()).isEqualTo(AiInferenceBulkhead.CircuitState.HALF_OPEN);
+        CompletableFuture<String> extra = bulkhead.submit(() -> CompletableFuture.completedFuture("extra"));
+        assertThat(extra).isCompletedExceptionally();
+        assertThat(extra.handle((value, error) -> error).join()).isInstanceOf(ResponseStatusException.class);
+
+        trial.complete("ok");
+        assertThat(trialResult.join()).isEqualTo("ok");
+        assertThat(bulkhead.circuitState()).isEqualTo(AiInferenceBulkhead.CircuitState.CLOSED);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.be.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트용 로컬 모델 서버. predictedDisease 에 요청한 imageUrl 을 그대로 돌려준다.
+class AiModelServerStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    final AtomicInteger singleCalls = new AtomicInteger();
+    final AtomicInteger batchCalls = new AtomicInteger();
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    volatile boolean failBatch;
+
+    AiModelServerStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict/batch", this::handleBatch);
+        server.createContext("/predict", this::handleSingle);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+    }
+
+    String predictUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/predict";
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        singleCalls.incrementAndGet();
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        respond(exchange, 200, objectMapper.writeValueAsBytes(result(body.get("imageUrl").asText())));
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        batchCalls.incrementAndGet();
+        if (failBatch) {
+            respond(exchange, 500, new byte[0]);
+            return;
+        }
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        List<Map<String, Object>> results = new ArrayList<>();
+        body.get("imageUrls").forEach(url -> results.add(result(url.asText())));
+        batchSizes.add(results.size());
+        respond(exchange, 200, objectMapper.writeValueAsBytes(Map.of("results", results)));
+    }
+
+    private Map<String, Object> result(String imageUrl) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("predictedDisease", imageUrl);
+        result.put("probability", 0.9);
+        return result;
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.be.service.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatientSearchIndexTest {
+
+    private static final Integer MEMBER = 1;
+    private static final Integer OTHER_MEMBER = 2;
+
+    private PatientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PatientSearchIndex(null, new SimpleMeterRegistry(), 100);
+        index.put(patient(1, MEMBER, "김민수", "P-1001", "ANON-7F3A", "대한민국", "M"));
+        index.put(patient(2, MEMBER, "김민지", "P-1002", null, "대한민국", "F"));
+        index.put(patient(3, MEMBER, "John Smith", "US-2001", "ANON-11B0", "USA", "M"));
+        index.put(patient(4, OTHER_MEMBER, "김민수", "P-3001", null, "대한민국", "M"));
+    }
+
+    @Test
+    void matchesPartialSyllablesAndChoseong() {
+        assertThat(index.search(MEMBER, "민", null, null, null)).containsExactly(2, 1);
+        assertThat(index.search(MEMBER, "김ㅁ", null, null, null)).containsExactly(2, 1);
+        assertThat(index.search(MEMBER, "김민ㅅ", null, null, null)).containsExactly(1);
+        assertThat(index.search(MEMBER, "ㄱㅁㅈ", null, null, null)).containsExactly(2);
+    }
+
+    @Test
+    void matchesCodesCaseInsensitivelyAndRanksExactMatchFirst() {
+        assertThat(index.search(MEMBER, "anon", null, null, null)).containsExactly(3, 1);
+        assertThat(index.search(MEMBER, "p-1002", null, null, null)).containsExactly(2);
+        assertThat(index.search(MEMBER, "smith usa", null, null, null)).containsExactly(3);
+    }
+
+    @Test
+    void appliesFiltersAndMemberScope() {
+        assertThat(index.search(MEMBER, "김", "M", null, null)).containsExactly(1);
+        assertThat(index.search(MEMBER, null, null, null, "usa")).containsExactly(3);
+        assertThat(index.search(OTHER_MEMBER, "김민", null, null, null)).containsExactly(4);
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        index.put(patient(2, MEMBER, "박지민", "P-1002", null, "대한민국", "F"));
+        index.remove(1);
+
+        assertThat(index.search(MEMBER, "김", null, null, null)).isEmpty();
+        assertThat(index.search(MEMBER, "ㅂㅈ", null, null, null)).containsExactly(2);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static PatientSearchDocument patient(int patientId, Integer memberId, String name, String code,
+                                                 String anonymousId, String country, String gender) {
+        return new PatientSearchDocument(patientId, memberId, name, code, anonymousId, country, gender,
+                LocalDate.of(1980, 1, 1));
+    }
+}